@@ -5,6 +5,11 @@ public enum Season {
   FALL(180, 269, "Fall", 0xFFE67E22),
   WINTER(270, 359, "Winter", 0xFFECF0F1);
 
+  // how many days before the end of a season the grass starts drifting toward the next one
+  // and in how many distinct colors, each step is its own small rollout
+  public static final int TINT_BLEND_DAYS = 12;
+  public static final int TINT_BLEND_STEPS = 4;
+
   private final int startDay;
   private final int endDay;
   private final String displayName;
@@ -40,34 +45,59 @@ public enum Season {
     return grassTintColor;
   }
 
-  public static Season getSeasonByDay(int dayOfYear) {
-    // handle wrap-around for day of year
-    if (dayOfYear < 0 || dayOfYear >= 360) {
-      dayOfYear = dayOfYear % 360;
+  // season that comes after this one, winter wraps back to spring
+  public Season getNext() {
+    return SeasonCalendar.getNext(this);
+  }
+
+  // grass tint for a given day inside this season, blended toward the next season near the end
+  public int getGrassTintForDay(int dayOfSeason) {
+    return getGrassTintForDay(dayOfSeason, TINT_BLEND_DAYS, TINT_BLEND_STEPS);
+  }
+
+  // the blend window is split into steps equal parts, the color only changes at step boundaries
+  // so a 12 day window with 4 steps repaints every 3 days. the last step stops short of the
+  // next season's color, that one lands on day 0 of the next season like before
+  public int getGrassTintForDay(int dayOfSeason, int blendDays, int steps) {
+    int days = getDaysInSeason();
+    if (blendDays <= 0 || steps <= 0) {
+      return grassTintColor;
     }
+    blendDays = Math.min(blendDays, days);
 
-    // loop through all seasons and find match
-    for (Season season : values()) {
-      int startD = season.startDay;
-      int endD = season.endDay;
-      if (dayOfYear >= startD && dayOfYear <= endD) {
-        return season;
-      }
+    int blendStart = days - blendDays;
+    if (dayOfSeason < blendStart) {
+      return grassTintColor;
     }
 
-    // Fallback - shouldn't get here but just in case
-    return SPRING;
+    int daysIntoBlend = Math.min(dayOfSeason - blendStart, blendDays - 1);
+    int step = daysIntoBlend * steps / blendDays + 1;
+    return blendColor(grassTintColor, getNext().grassTintColor, step / (float) (steps + 1));
   }
 
-  public static Season getSeasonByName(String name) {
-    // lookup season by name string
-    for (Season season : values()) {
-      if (season.name().equalsIgnoreCase(name)) {
-        return season;
-      }
+  // per channel linear blend between two ARGB colors, t = 0 gives from, t = 1 gives to
+  public static int blendColor(int from, int to, float t) {
+    if (t <= 0f) return from;
+    if (t >= 1f) return to;
+
+    int result = 0;
+    for (int shift = 0; shift < 32; shift += 8) {
+      int a = (from >>> shift) & 0xFF;
+      int b = (to >>> shift) & 0xFF;
+      int c = Math.round(a + (b - a) * t);
+      result |= (c & 0xFF) << shift;
     }
-    // not found
-    return null;
+    return result;
+  }
+
+  // table lookup, wraps days outside 0..359 (negative ones too)
+  public static Season getSeasonByDay(int dayOfYear) {
+    return SeasonCalendar.getSeason(dayOfYear);
+  }
+
+  // case insensitive, null if not found
+  public static Season getSeasonByName(String name) {
+    return SeasonCalendar.getByName(name);
   }
 }
 
@@ -0,0 +1,97 @@
+package com.hypixel.seasons;
+
+import com.hypixel.seasons.systems.SeasonWeatherManager;
+import com.hypixel.seasons.util.NameIndex;
+
+// the whole year worked out once: which season each day is in, how far into it,
+// the (blended) grass tint and the weather numbers for that day
+// every lookup is an array read, nothing here allocates after class init
+public final class SeasonCalendar {
+
+  public static final int DAYS_PER_YEAR = 360;
+
+  // values() clones the array on every call so keep our own copy
+  private static final Season[] SEASONS = Season.values();
+  private static final Season[] NEXT = new Season[SEASONS.length];
+
+  private static final byte[] SEASON_BY_DAY = new byte[DAYS_PER_YEAR];
+  private static final short[] DAY_OF_SEASON = new short[DAYS_PER_YEAR];
+  private static final int[] TINT_BY_DAY = new int[DAYS_PER_YEAR];
+  private static final float[] RAINFALL_BY_DAY = new float[DAYS_PER_YEAR];
+  private static final float[] SNOW_BY_DAY = new float[DAYS_PER_YEAR];
+  private static final float[] TEMPERATURE_BY_DAY = new float[DAYS_PER_YEAR];
+
+  private static final NameIndex<Season> BY_NAME = new NameIndex<>(SEASONS.length);
+
+  static {
+    SeasonWeatherManager weather = new SeasonWeatherManager();
+
+    for (int i = 0; i < SEASONS.length; i++) {
+      Season season = SEASONS[i];
+      NEXT[i] = SEASONS[(i + 1) % SEASONS.length];
+      BY_NAME.put(season.name(), season);
+
+      // clamp to the year so a bad season range cant blow up class init
+      int start = Math.max(0, season.getStartDay());
+      int end = Math.min(DAYS_PER_YEAR - 1, season.getEndDay());
+      for (int day = start; day <= end; day++) {
+        int dayOfSeason = day - season.getStartDay();
+        SEASON_BY_DAY[day] = (byte) i;
+        DAY_OF_SEASON[day] = (short) dayOfSeason;
+        TINT_BY_DAY[day] = season.getGrassTintForDay(dayOfSeason);
+        RAINFALL_BY_DAY[day] = weather.getRainfallModifier(season);
+        SNOW_BY_DAY[day] = weather.getSnowModifier(season);
+        TEMPERATURE_BY_DAY[day] = weather.getTemperatureMultiplier(season);
+      }
+    }
+  }
+
+  private SeasonCalendar() {
+  }
+
+  // any day count (total days passed, negative, whatever) folded into 0..359
+  public static int wrapDay(long day) {
+    return (int) Math.floorMod(day, (long) DAYS_PER_YEAR);
+  }
+
+  public static Season getSeason(long dayOfYear) {
+    return SEASONS[SEASON_BY_DAY[wrapDay(dayOfYear)]];
+  }
+
+  public static int getDayOfSeason(long dayOfYear) {
+    return DAY_OF_SEASON[wrapDay(dayOfYear)];
+  }
+
+  public static int getGrassTint(long dayOfYear) {
+    return TINT_BY_DAY[wrapDay(dayOfYear)];
+  }
+
+  public static float getRainfall(long dayOfYear) {
+    return RAINFALL_BY_DAY[wrapDay(dayOfYear)];
+  }
+
+  public static float getSnow(long dayOfYear) {
+    return SNOW_BY_DAY[wrapDay(dayOfYear)];
+  }
+
+  public static float getTemperature(long dayOfYear) {
+    return TEMPERATURE_BY_DAY[wrapDay(dayOfYear)];
+  }
+
+  // case insensitive, null if theres no season with that name
+  public static Season getByName(String name) {
+    return BY_NAME.get(name);
+  }
+
+  public static Season getNext(Season season) {
+    return NEXT[season.ordinal()];
+  }
+
+  public static int getSeasonCount() {
+    return SEASONS.length;
+  }
+
+  public static Season getSeasonAt(int index) {
+    return SEASONS[index];
+  }
+}
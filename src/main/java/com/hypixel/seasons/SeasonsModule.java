@@ -15,13 +15,21 @@ import com.hypixel.seasons.components.PlayerSeasonProgress;
 import com.hypixel.seasons.interactions.EchoReturnInteraction;
 import com.hypixel.seasons.interactions.EchoTeleportInteraction;
 import com.hypixel.seasons.resources.SeasonResource;
+import com.hypixel.seasons.structures.PrefabResolutionManager;
 import com.hypixel.seasons.structures.SeasonStructureInitializer;
+import com.hypixel.seasons.structures.StructureDataResource;
+import com.hypixel.seasons.structures.UniquePlacementPersistence;
 import com.hypixel.seasons.systems.GrassBlockTintingSystem;
 import com.hypixel.seasons.systems.PlayerWakeUpProgressSystem;
 import com.hypixel.seasons.systems.PortalRegistry;
 import com.hypixel.seasons.systems.PortalTeleportSystem;
+import com.hypixel.seasons.systems.SeasonClockSystem;
 import com.hypixel.seasons.systems.SeasonSystem;
+import com.hypixel.seasons.systems.SeasonTransitionService;
 import com.hypixel.seasons.systems.SeasonWeatherManager;
+import com.hypixel.seasons.systems.StructureDiscoverySystem;
+import com.hypixel.seasons.systems.TintFrontierSystem;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class SeasonsModule extends JavaPlugin {
@@ -32,8 +40,13 @@ public class SeasonsModule extends JavaPlugin {
   private SeasonCommand seasonCommand;
   private SeasonStructureInitializer structureInitializer;
   private ResourceType<EntityStore, SeasonResource> seasonResourceType;
+  private ResourceType<EntityStore, StructureDataResource> structureDataResourceType;
   private ComponentType<EntityStore, PlayerSeasonProgress> playerSeasonProgressComponentType;
   private final ConcurrentHashMap<String, GrassBlockTintingSystem> worldTintingSystems = new ConcurrentHashMap<>();
+  // one day cycle per world, driven by the season clock system
+  private final ConcurrentHashMap<String, SeasonSystem> worldSeasonSystems = new ConcurrentHashMap<>();
+  // worlds we already know arent echo worlds, so their chunk loads skip straight out
+  private final Set<String> nonEchoWorlds = ConcurrentHashMap.newKeySet();
 
   public SeasonsModule(JavaPluginInit init) {
     super(init);
@@ -56,6 +69,7 @@ public class SeasonsModule extends JavaPlugin {
     System.out.println("[" + PluginConfig.NAME + "] Setting up...");
 
     this.weatherManager = new SeasonWeatherManager();
+    registerSeasonListeners();
 
     registerResources();
     registerInteractions();
@@ -66,6 +80,47 @@ public class SeasonsModule extends JavaPlugin {
 
     registerSanctuaryStructure();
     registerEventListeners();
+    warmUpPrefabs();
+  }
+
+  // decode structure and echo prefabs in the background so the first paste doesnt do it on the world thread
+  private void warmUpPrefabs() {
+    try {
+      PrefabResolutionManager.get().warmUp(structureInitializer.getWarmUpPaths(), "setup");
+    } catch (Exception e) {
+      System.err.println("[" + PluginConfig.NAME + "] Could not start prefab warm-up: " + e.getMessage());
+    }
+  }
+
+  // everything that reacts to a season change hangs off the transition service
+  private void registerSeasonListeners() {
+    SeasonTransitionService transitions = SeasonTransitionService.getInstance();
+    transitions.clearListeners();
+
+    transitions.register(SeasonTransitionService.PRIORITY_TINT, "grass tint", (world, event) -> {
+      GrassBlockTintingSystem tintingSystem = worldTintingSystems.get(world.getName());
+      if (tintingSystem == null) {
+        return;
+      }
+
+      int tintColor = event.getNewSeason().getGrassTintForDay(event.getDayOfSeason());
+      System.out.println("[ARCANE SEASONS] Applying tint color: 0x" + Integer.toHexString(tintColor));
+      world.execute(() -> {
+        try {
+          tintingSystem.onSeasonChange(tintColor);
+          System.out.println("[ARCANE SEASONS] Tint rollout started");
+        } catch (Exception e) {
+          System.err.println("[ARCANE SEASONS] Error during tinting: " + e.getMessage());
+          e.printStackTrace();
+        }
+      });
+    });
+
+    transitions.register(SeasonTransitionService.PRIORITY_WEATHER, "weather", (world, event) -> {
+      if (weatherManager != null) {
+        weatherManager.onSeasonChange(event.getNewSeason());
+      }
+    });
   }
 
   private void registerEcsSystems() {
@@ -86,6 +141,30 @@ public class SeasonsModule extends JavaPlugin {
       System.err.println("[" + PluginConfig.NAME + "] Failed to register PlayerWakeUpProgressSystem: " + e.getMessage());
       e.printStackTrace();
     }
+
+    try {
+      this.getEntityStoreRegistry().registerSystem(new TintFrontierSystem());
+      System.out.println("[" + PluginConfig.NAME + "] TintFrontierSystem registered");
+    } catch (Exception e) {
+      System.err.println("[" + PluginConfig.NAME + "] Failed to register TintFrontierSystem: " + e.getMessage());
+      e.printStackTrace();
+    }
+
+    try {
+      this.getEntityStoreRegistry().registerSystem(new StructureDiscoverySystem());
+      System.out.println("[" + PluginConfig.NAME + "] StructureDiscoverySystem registered");
+    } catch (Exception e) {
+      System.err.println("[" + PluginConfig.NAME + "] Failed to register StructureDiscoverySystem: " + e.getMessage());
+      e.printStackTrace();
+    }
+
+    try {
+      this.getEntityStoreRegistry().registerSystem(new SeasonClockSystem());
+      System.out.println("[" + PluginConfig.NAME + "] SeasonClockSystem registered");
+    } catch (Exception e) {
+      System.err.println("[" + PluginConfig.NAME + "] Failed to register SeasonClockSystem: " + e.getMessage());
+      e.printStackTrace();
+    }
   }
 
   private void registerEventListeners() {
@@ -110,22 +189,14 @@ public class SeasonsModule extends JavaPlugin {
               return;
             }
 
-            String worldName = world.getName();
-            com.hypixel.seasons.echo.Echo echo = com.hypixel.seasons.echo.Echo.getByWorldName(worldName);
-            if (echo == null) {
+            // this runs for every chunk load so it only touches cached state,
+            // the season / tint lookup happened once when the world was first seen
+            GrassBlockTintingSystem tintingSystem = tintingSystemFor(world);
+            if (tintingSystem == null) {
               return;
             }
 
-            GrassBlockTintingSystem tintingSystem = worldTintingSystems.computeIfAbsent(
-              worldName,
-              name -> new GrassBlockTintingSystem(world)
-            );
-
-            Season currentSeason = getCurrentSeasonForWorld(world);
-            int tintColor = currentSeason.getGrassTintColor();
-            tintingSystem.setCurrentTintColor(tintColor);
-
-            tintingSystem.tintChunk(chunk, tintColor);
+            tintingSystem.tintOnPreLoad(chunk, event.isNewlyGenerated());
           } catch (Exception e) {
             System.err.println("[ARCANE SEASONS] Error in ChunkPreLoadProcessEvent: " + e.getMessage());
           }
@@ -149,20 +220,13 @@ public class SeasonsModule extends JavaPlugin {
               return;
             }
 
-            String worldName = world.getName();
-            com.hypixel.seasons.echo.Echo echo = com.hypixel.seasons.echo.Echo.getByWorldName(worldName);
-            if (echo == null) {
+            GrassBlockTintingSystem tintingSystem = tintingSystemFor(world);
+            if (tintingSystem == null) {
               return;
             }
 
-            GrassBlockTintingSystem tintingSystem = worldTintingSystems.computeIfAbsent(
-              worldName,
-              name -> new GrassBlockTintingSystem(world)
-            );
-
             Season currentSeason = getCurrentSeasonForWorld(world);
-            int tintColor = currentSeason.getGrassTintColor();
-            tintingSystem.setCurrentTintColor(tintColor);
+            int tintColor = tintingSystem.getCurrentTintColor();
 
             world.execute(() -> {
               try {
@@ -197,19 +261,12 @@ public class SeasonsModule extends JavaPlugin {
               return;
             }
 
-            String worldName = world.getName();
-            com.hypixel.seasons.echo.Echo echo = com.hypixel.seasons.echo.Echo.getByWorldName(worldName);
-            if (echo == null) {
+            GrassBlockTintingSystem tintingSystem = tintingSystemFor(world);
+            if (tintingSystem == null) {
               return;
             }
 
-            GrassBlockTintingSystem tintingSystem = new GrassBlockTintingSystem(world);
-            worldTintingSystems.put(worldName, tintingSystem);
-
-            Season currentSeason = getCurrentSeasonForWorld(world);
-            tintingSystem.setCurrentTintColor(currentSeason.getGrassTintColor());
-
-            System.out.println("[ARCANE SEASONS] Initialized tinting system for world: " + worldName);
+            System.out.println("[ARCANE SEASONS] Initialized tinting system for world: " + world.getName());
           } catch (Exception e) {
             System.err.println("[ARCANE SEASONS] Error in StartWorldEvent: " + e.getMessage());
           }
@@ -221,6 +278,49 @@ public class SeasonsModule extends JavaPlugin {
     }
   }
 
+  // echo worlds get their tinting system (and its cached tint) the first time we see them,
+  // everything else gets remembered as not ours so its chunk loads cost a single set lookup
+  private GrassBlockTintingSystem tintingSystemFor(World world) {
+    String worldName = world.getName();
+    if (worldName == null) {
+      return null;
+    }
+
+    GrassBlockTintingSystem tintingSystem = worldTintingSystems.get(worldName);
+    if (tintingSystem != null) {
+      return tintingSystem;
+    }
+    if (nonEchoWorlds.contains(worldName)) {
+      return null;
+    }
+
+    if (com.hypixel.seasons.echo.Echo.getByWorldName(worldName) == null) {
+      nonEchoWorlds.add(worldName);
+      return null;
+    }
+
+    return worldTintingSystems.computeIfAbsent(worldName, name -> {
+      GrassBlockTintingSystem created = new GrassBlockTintingSystem(world);
+      created.setCurrentTintColor(getCurrentTintForWorld(world));
+      return created;
+    });
+  }
+
+  // a world that starts inside the end of season blend already shows the blended color
+  private int getCurrentTintForWorld(World world) {
+    Season season = getCurrentSeasonForWorld(world);
+    try {
+      if (seasonResourceType != null) {
+        SeasonResource seasonResource = world.getEntityStore().getStore().getResource(seasonResourceType);
+        if (seasonResource != null && SeasonCalendar.getSeason(seasonResource.getTotalDaysPassed()) == season) {
+          return SeasonCalendar.getGrassTint(seasonResource.getTotalDaysPassed());
+        }
+      }
+    } catch (Exception e) {
+    }
+    return season.getGrassTintColor();
+  }
+
   private Season getCurrentSeasonForWorld(World world) {
     try {
       String worldName = world.getName();
@@ -270,6 +370,10 @@ public class SeasonsModule extends JavaPlugin {
   public void shutdown() {
     System.out.println("[" + PluginConfig.NAME + "] Shutting down...");
     worldTintingSystems.clear();
+    nonEchoWorlds.clear();
+    SeasonTransitionService.getInstance().clearListeners();
+    PrefabResolutionManager.get().clear();
+    UniquePlacementPersistence.shutdown();
     instance = null;
   }
 
@@ -325,9 +429,21 @@ public class SeasonsModule extends JavaPlugin {
 
   private void registerResources() {
     System.out.println("[" + PluginConfig.NAME + "] Registering SeasonResource...");
-    this.seasonResourceType = this.getEntityStoreRegistry().registerResource(SeasonResource.class, SeasonResource::new);
+    this.seasonResourceType = this.getEntityStoreRegistry().registerResource(
+      SeasonResource.class,
+      "SeasonResource",
+      SeasonResource.CODEC
+    );
     System.out.println("[" + PluginConfig.NAME + "] SeasonResource registered successfully");
 
+    System.out.println("[" + PluginConfig.NAME + "] Registering StructureDataResource...");
+    this.structureDataResourceType = this.getEntityStoreRegistry().registerResource(
+      StructureDataResource.class,
+      "StructureData",
+      StructureDataResource.CODEC
+    );
+    System.out.println("[" + PluginConfig.NAME + "] StructureDataResource registered successfully");
+
     System.out.println("[" + PluginConfig.NAME + "] Registering PlayerSeasonProgress component...");
     this.playerSeasonProgressComponentType = this.getEntityStoreRegistry().registerComponent(
       PlayerSeasonProgress.class,
@@ -393,17 +509,16 @@ public class SeasonsModule extends JavaPlugin {
   }
 
   public SeasonSystem createSeasonSystem(World world, Store<EntityStore> store) {
-    String worldName = world.getName();
-    com.hypixel.seasons.echo.Echo echo = com.hypixel.seasons.echo.Echo.getByWorldName(worldName);
+    return new SeasonSystem(world, store, weatherManager, tintingSystemFor(world));
+  }
 
-    GrassBlockTintingSystem tintingSystem = null;
-    if (echo != null) {
-      tintingSystem = worldTintingSystems.computeIfAbsent(
-        worldName,
-        name -> new GrassBlockTintingSystem(world)
-      );
+  // the world's day cycle, created the first time the clock ticks there
+  public SeasonSystem getSeasonSystemForWorld(World world, Store<EntityStore> store) {
+    String worldName = world.getName();
+    if (worldName == null) {
+      return null;
     }
-    return new SeasonSystem(world, store, weatherManager, tintingSystem);
+    return worldSeasonSystems.computeIfAbsent(worldName, name -> createSeasonSystem(world, store));
   }
 
   public SeasonCommand getSeasonCommand() {
@@ -426,6 +541,10 @@ public class SeasonsModule extends JavaPlugin {
     return seasonResourceType;
   }
 
+  public ResourceType<EntityStore, StructureDataResource> getStructureDataResourceType() {
+    return structureDataResourceType;
+  }
+
   public ComponentType<EntityStore, PlayerSeasonProgress> getPlayerSeasonProgressComponentType() {
     return playerSeasonProgressComponentType;
   }
@@ -6,8 +6,15 @@ import com.hypixel.hytale.server.core.command.system.basecommands.AbstractWorldC
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.seasons.Season;
+import com.hypixel.seasons.SeasonsModule;
+import com.hypixel.seasons.structures.GenerationIntegration;
+import com.hypixel.seasons.structures.StructureDiscoveryEngine;
+import com.hypixel.seasons.structures.StructurePasteQueue;
+import com.hypixel.seasons.systems.ChunkUpdateCoalescer;
+import com.hypixel.seasons.systems.GrassBlockTintingSystem;
 import com.hypixel.seasons.systems.SeasonSystem;
 import com.hypixel.seasons.systems.SeasonWeatherManager;
+import com.hypixel.seasons.systems.TintRolloutScheduler;
 
 public class SeasonGetCommand extends AbstractWorldCommand {
     public SeasonGetCommand() {
@@ -30,5 +37,51 @@ public class SeasonGetCommand extends AbstractWorldCommand {
         );
 
         System.out.println("[ARCANE SEASONS] " + message);
+
+        GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(world.getName());
+        if (tintingSystem != null) {
+            TintRolloutScheduler.Progress progress = tintingSystem.getRolloutScheduler().getProgress();
+            if (progress.isRunning()) {
+                System.out.println(String.format(
+                        "[ARCANE SEASONS] Tint rollout: %d/%d chunks (%d%%), %d tinted over %d ticks",
+                        progress.getProcessed(),
+                        progress.getTotal(),
+                        (int) (progress.getFraction() * 100),
+                        progress.getTinted(),
+                        progress.getTicks()
+                ));
+            }
+
+            ChunkUpdateCoalescer updates = tintingSystem.getUpdateCoalescer();
+            int pendingUpdates = updates.getPendingCount();
+            if (pendingUpdates > 0) {
+                System.out.println("[ARCANE SEASONS] Chunk updates waiting to send: " + pendingUpdates +
+                        " (" + updates.getSentCount() + " sent, " + updates.getCoalescedCount() + " merged, " +
+                        updates.getDroppedCount() + " dropped)");
+            }
+        }
+
+        GenerationIntegration generation = SeasonsModule.getInstance().getStructureInitializer() != null
+                ? SeasonsModule.getInstance().getStructureInitializer().getGenerationIntegration()
+                : null;
+        if (generation != null && generation.getWorld() == world) {
+            StructurePasteQueue pastes = generation.getPasteQueue();
+            int pendingPastes = pastes.getPendingCount() + pastes.getParkedCount();
+            if (pendingPastes > 0) {
+                System.out.println("[ARCANE SEASONS] Structure pastes waiting: " + pendingPastes +
+                        " (" + pastes.getPastedCount() + " pasted, " + pastes.getCancelledCount() + " cancelled, " +
+                        pastes.getParkedCount() + " waiting on chunks, peak " + pastes.getPeakPending() + ", " +
+                        pastes.getDeferredTicks() + " ticks over budget)");
+            }
+        }
+
+        StructureDiscoveryEngine discovery = SeasonsModule.getInstance().getStructureInitializer() != null
+                ? SeasonsModule.getInstance().getStructureInitializer().getDiscoveryEngine(world)
+                : null;
+        if (discovery != null && discovery.getIndexedCount() > 0) {
+            System.out.println("[ARCANE SEASONS] Discovery: " + discovery.getIndexedCount() + " structures indexed, " +
+                    discovery.getTrackedPlayerCount() + " players tracked, " + discovery.getDiscoveredCount() +
+                    " discovered, " + discovery.getChunkCrossings() + " chunk crossings checked");
+        }
     }
 }
@@ -9,8 +9,7 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.seasons.Season;
 import com.hypixel.seasons.SeasonsModule;
-import com.hypixel.seasons.resources.SeasonResource;
-import com.hypixel.seasons.systems.GrassBlockTintingSystem;
+import com.hypixel.seasons.systems.SeasonTransitionService;
 
 public class SeasonSetCommand extends AbstractWorldCommand {
 
@@ -32,39 +31,12 @@ public class SeasonSetCommand extends AbstractWorldCommand {
         }
 
         try {
-            SeasonResource seasonResource = store.getResource(SeasonResource.getResourceType());
-            if (seasonResource == null) {
-                seasonResource = new SeasonResource();
-            }
-
-            Season oldSeason = seasonResource.getCurrentSeason();
-            seasonResource.setCurrentSeason(season);
-            seasonResource.setDayOfSeason(0);
-            seasonResource.setTotalDaysPassed(season.getStartDay());
-
-            store.replaceResource(SeasonResource.getResourceType(), seasonResource);
+            // resource update, tint and weather all happen through the transition service
+            SeasonTransitionService.getInstance().setSeason(world, store, season, "Command");
 
-            System.out.println("[ARCANE SEASONS] ========================================");
-            System.out.println("[ARCANE SEASONS] SEASON SET VIA COMMAND");
-            System.out.println("[ARCANE SEASONS] " + oldSeason.getDisplayName() + " -> " + season.getDisplayName());
-            System.out.println("[ARCANE SEASONS] ========================================");
-
-            GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(world.getName());
-            if (tintingSystem != null) {
-                int tintColor = season.getGrassTintColor();
-                System.out.println("[ARCANE SEASONS] Applying tint color: 0x" + Integer.toHexString(tintColor));
-                world.execute(() -> {
-                    try {
-                        tintingSystem.onSeasonChange(tintColor);
-                        System.out.println("[ARCANE SEASONS] Tinting complete");
-                    } catch (Exception e) {
-                        System.err.println("[ARCANE SEASONS] Error during tinting: " + e.getMessage());
-                    }
-                });
-            } else {
+            if (SeasonsModule.getTintingSystemForWorld(world.getName()) == null) {
                 System.out.println("[ARCANE SEASONS] WARNING: No tinting system found for world: " + world.getName());
             }
-
         } catch (Exception e) {
             System.err.println("[ARCANE SEASONS] Error setting season: " + e.getMessage());
             e.printStackTrace();
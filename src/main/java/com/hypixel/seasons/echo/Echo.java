@@ -2,6 +2,9 @@ package com.hypixel.seasons.echo;
 
 import com.hypixel.seasons.Season;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum Echo {
     SPRING("spring_echo", "Spring Echo", "SpringEchoTemplate", "A verdant spring realm", "spring_echo"),
     SUMMER("summer_echo", "Summer Echo", "SummerEchoTemplate", "A warm summer realm", "summer_echo"),
@@ -12,6 +15,18 @@ public enum Echo {
     private final String templateName;
     private final String description;
     private final String prefabPath;
+    private final String worldName;
+
+    // filled once after the constants exist, read only from then on
+    private static final Map<String, Echo> BY_ID = new HashMap<>();
+    private static final Map<String, Echo> BY_WORLD_NAME = new HashMap<>();
+
+    static {
+        for (Echo echo : values()) {
+            BY_ID.put(echo.id, echo);
+            BY_WORLD_NAME.put(echo.worldName, echo);
+        }
+    }
 
     Echo(String id, String displayName, String templateName, String description, String prefabPath) {
         this.id = id;
@@ -19,6 +34,7 @@ public enum Echo {
         this.templateName = templateName;
         this.description = description;
         this.prefabPath = prefabPath;
+        this.worldName = "echo_" + id;
     }
 
     public String getId() {
@@ -42,25 +58,15 @@ public enum Echo {
     }
 
     public String getWorldName() {
-        return "echo_" + id;
+        return worldName;
     }
 
     public static Echo getById(String id) {
-        for (Echo echo : values()) {
-            if (echo.id.equals(id)) {
-                return echo;
-            }
-        }
-        return null;
+        return id != null ? BY_ID.get(id) : null;
     }
 
     public static Echo getByWorldName(String worldName) {
-        for (Echo echo : values()) {
-            if (echo.getWorldName().equals(worldName)) {
-                return echo;
-            }
-        }
-        return null;
+        return worldName != null ? BY_WORLD_NAME.get(worldName) : null;
     }
 
     public Season getSeason() {
@@ -18,8 +18,6 @@ import com.hypixel.hytale.server.core.entity.UUIDComponent;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.modules.entity.teleport.PendingTeleport;
 import com.hypixel.hytale.server.core.modules.entity.teleport.Teleport;
-import com.hypixel.hytale.server.core.prefab.PrefabStore;
-import com.hypixel.hytale.server.core.prefab.selection.buffer.PrefabBufferUtil;
 import com.hypixel.hytale.server.core.prefab.selection.buffer.impl.IPrefabBuffer;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
@@ -27,8 +25,8 @@ import com.hypixel.hytale.server.core.universe.world.WorldConfig;
 import com.hypixel.hytale.server.core.universe.world.spawn.GlobalSpawnProvider;
 import com.hypixel.hytale.server.core.util.PrefabUtil;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.seasons.structures.PrefabResolutionManager;
 
-import java.nio.file.Path;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -137,44 +135,17 @@ public class EchoManager {
         CompletableFuture<Void> future = new CompletableFuture<>();
 
         try {
-            PrefabStore prefabStore = PrefabStore.get();
-            if (prefabStore == null) {
-                System.err.println("[ARCANE SEASONS] PrefabStore not available");
-                future.complete(null);
-                return future;
-            }
-
-            String normalizedPath = prefabPath.replace('.', '/').replace("\\", "/");
-
-            String[] pathFormats = {
-                normalizedPath + ".prefab.json",
-                "Server/Prefabs/" + normalizedPath + ".prefab.json",
-                "structures/" + normalizedPath + ".prefab.json"
-            };
-
-            Path foundPath = null;
-            for (String pathFormat : pathFormats) {
-                System.out.println("[ARCANE SEASONS] Trying path format: " + pathFormat);
-                Path prefabPath_candidate = prefabStore.findAssetPrefabPath(pathFormat);
-                if (prefabPath_candidate != null) {
-                    foundPath = prefabPath_candidate;
-                    System.out.println("[ARCANE SEASONS] Found prefab at: " + foundPath);
-                    break;
-                }
-            }
-
-            if (foundPath == null) {
+            PrefabResolutionManager prefabs = PrefabResolutionManager.get();
+            IPrefabBuffer prefabBuffer = prefabs.acquire(prefabPath);
+            if (prefabBuffer == null) {
                 System.err.println("[ARCANE SEASONS] Prefab file not found for: " + prefabPath);
                 future.complete(null);
                 return future;
             }
 
-            System.out.println("[ARCANE SEASONS] Prefab file found, loading buffer...");
-            IPrefabBuffer prefabBuffer = PrefabBufferUtil.getCached(foundPath);
-            System.out.println("[ARCANE SEASONS] Prefab buffer loaded successfully");
-
             Vector3i pastePosition = new Vector3i(0, 64, 0);
 
+            // pasted whole in one go, the spawn waits on it and a void world has no chunks to defer to
             System.out.println("[ARCANE SEASONS] Scheduling prefab paste on world thread...");
             world.execute(() -> {
                 try {
@@ -198,6 +169,8 @@ public class EchoManager {
                     System.err.println("[ARCANE SEASONS] Failed to paste " + echo.getId() + " prefab: " + e.getMessage());
                     e.printStackTrace();
                     future.completeExceptionally(e);
+                } finally {
+                    prefabs.release(prefabPath, prefabBuffer);
                 }
             });
             System.out.println("[ARCANE SEASONS] Prefab paste scheduled, waiting for completion...");
@@ -5,10 +5,20 @@ import com.hypixel.seasons.Season;
 public class SeasonChangeEvent {
     private final Season oldSeason;
     private final Season newSeason;
+    private final String worldName;
+    private final int dayOfSeason;
+    private final String source;
 
     public SeasonChangeEvent(Season oldSeason, Season newSeason) {
+        this(oldSeason, newSeason, null, 0, null);
+    }
+
+    public SeasonChangeEvent(Season oldSeason, Season newSeason, String worldName, int dayOfSeason, String source) {
         this.oldSeason = oldSeason;
         this.newSeason = newSeason;
+        this.worldName = worldName;
+        this.dayOfSeason = dayOfSeason;
+        this.source = source;
     }
 
     public Season getOldSeason() {
@@ -18,4 +28,17 @@ public class SeasonChangeEvent {
     public Season getNewSeason() {
         return newSeason;
     }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public int getDayOfSeason() {
+        return dayOfSeason;
+    }
+
+    // what caused it (command, debug panel, sleep...), only for logging
+    public String getSource() {
+        return source;
+    }
 }
@@ -1,12 +1,37 @@
 package com.hypixel.seasons.resources;
 
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
 import com.hypixel.hytale.component.Resource;
 import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.seasons.Season;
+import com.hypixel.seasons.SeasonCalendar;
 import com.hypixel.seasons.SeasonsModule;
 
 public class SeasonResource implements Resource<EntityStore> {
+
+    // saved with the world, the season is stored by name so reordering the enum never shifts old saves
+    public static final BuilderCodec<SeasonResource> CODEC = BuilderCodec
+        .builder(SeasonResource.class, SeasonResource::new)
+        .append(new KeyedCodec<>("Season", Codec.STRING),
+            (resource, value) -> {
+                Season season = value != null ? Season.getSeasonByName(value) : null;
+                resource.currentSeason = season != null ? season : Season.SPRING;
+            },
+            resource -> resource.currentSeason != null ? resource.currentSeason.name() : Season.SPRING.name())
+        .add()
+        .append(new KeyedCodec<>("DayOfSeason", Codec.INTEGER),
+            (resource, value) -> resource.dayOfSeason = value != null ? value : 0,
+            resource -> resource.dayOfSeason)
+        .add()
+        .append(new KeyedCodec<>("TotalDaysPassed", Codec.LONG),
+            (resource, value) -> resource.totalDaysPassed = value != null ? value : 0L,
+            resource -> resource.totalDaysPassed)
+        .add()
+        .build();
+
     public static ResourceType<EntityStore, SeasonResource> getResourceType() {
         return SeasonsModule.getInstance().getSeasonResourceType();
     }
@@ -50,7 +75,7 @@ public class SeasonResource implements Resource<EntityStore> {
     }
 
     public int getDayOfYear() {
-        return (int) (totalDaysPassed % 360);
+        return SeasonCalendar.wrapDay(totalDaysPassed);
     }
 
     @Override
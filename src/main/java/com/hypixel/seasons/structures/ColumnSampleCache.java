@@ -0,0 +1,190 @@
+package com.hypixel.seasons.structures;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.worldgen.biome.Biome;
+import com.hypixel.hytale.server.worldgen.chunk.ChunkGenerator;
+import com.hypixel.hytale.server.worldgen.chunk.ZoneBiomeResult;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// zone / biome / height per column, asked from the generator once per chunk and shared by every
+// structure config instead of each config re-querying the same grid points
+// finished chunks stay around in a small LRU so neighbouring chunks (and footprints that poke
+// over the edge) can reuse them
+public class ColumnSampleCache {
+
+  public static final int GRID_SPACING = 16;
+  private static final int CHUNK_SIZE = 32;
+  private static final int GRID_POINTS = CHUNK_SIZE / GRID_SPACING;
+  private static final int UNSAMPLED = Integer.MIN_VALUE;
+  private static final int DEFAULT_HEIGHT = 64;     // same fallback the old height wrapper used
+
+  // debug helper to see what zones actually exist
+  private static final Set<String> loggedZones = ConcurrentHashMap.newKeySet();
+
+  private final int capacity;
+  private final Map<Long, ChunkSamples> recent;
+  private long hits;
+  private long misses;
+
+  public ColumnSampleCache(int capacity) {
+    this.capacity = Math.max(1, capacity);
+    this.recent = new LinkedHashMap<Long, ChunkSamples>(64, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, ChunkSamples> eldest) {
+        return size() > ColumnSampleCache.this.capacity;
+      }
+    };
+  }
+
+  // samples for a chunk, the grid points get filled right away the first time
+  // the generator is asked outside the lock so worldgen threads on different chunks dont queue up
+  // behind each other, if two threads raced on the same chunk the first one published wins
+  public ChunkSamples forChunk(int chunkX, int chunkZ, ChunkGenerator generator, int worldSeed) {
+    long key = ChunkUtil.indexChunk(chunkX, chunkZ);
+    synchronized (this) {
+      ChunkSamples samples = recent.get(key);
+      if (samples != null && samples.generator == generator && samples.seed == worldSeed) {
+        hits++;
+        return samples;
+      }
+      misses++;
+    }
+
+    ChunkSamples fresh = new ChunkSamples(chunkX, chunkZ, generator, worldSeed);
+    synchronized (this) {
+      ChunkSamples raced = recent.get(key);
+      if (raced != null && raced.generator == generator && raced.seed == worldSeed) {
+        return raced;
+      }
+      recent.put(key, fresh);
+    }
+    return fresh;
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  public synchronized void clear() {
+    recent.clear();
+  }
+
+  public static final class ChunkSamples {
+    private final ChunkGenerator generator;
+    private final int seed;
+    private final int minX;
+    private final int minZ;
+    private final ColumnSample[] grid = new ColumnSample[GRID_POINTS * GRID_POINTS];
+    private final Map<Long, ColumnSample> offGrid = new HashMap<>();   // fixed positions etc
+
+    private ChunkSamples(int chunkX, int chunkZ, ChunkGenerator generator, int seed) {
+      this.generator = generator;
+      this.seed = seed;
+      this.minX = ChunkUtil.minBlock(chunkX);
+      this.minZ = ChunkUtil.minBlock(chunkZ);
+
+      for (int gx = 0; gx < GRID_POINTS; gx++) {
+        for (int gz = 0; gz < GRID_POINTS; gz++) {
+          grid[gx * GRID_POINTS + gz] = sample(minX + gx * GRID_SPACING, minZ + gz * GRID_SPACING);
+        }
+      }
+    }
+
+    public ColumnSample at(int x, int z) {
+      int dx = x - minX;
+      int dz = z - minZ;
+      if (dx >= 0 && dz >= 0 && dx < CHUNK_SIZE && dz < CHUNK_SIZE
+        && dx % GRID_SPACING == 0 && dz % GRID_SPACING == 0) {
+        return grid[(dx / GRID_SPACING) * GRID_POINTS + dz / GRID_SPACING];
+      }
+
+      long key = ((long) x << 32) | (z & 0xFFFFFFFFL);
+      synchronized (offGrid) {
+        ColumnSample sample = offGrid.get(key);
+        if (sample == null) {
+          sample = sample(x, z);
+          offGrid.put(key, sample);
+        }
+        return sample;
+      }
+    }
+
+    // the fixed grid points, enough to tell which zones the chunk touches
+    public int gridCount() {
+      return grid.length;
+    }
+
+    public ColumnSample gridSample(int i) {
+      return grid[i];
+    }
+
+    // height is only needed where a filter passed, so its pulled lazily
+    public int heightAt(ColumnSample sample) {
+      int height = sample.height;
+      if (height == UNSAMPLED) {
+        try {
+          height = generator.getHeight(seed, sample.x, sample.z);
+        } catch (Exception e) {
+          height = DEFAULT_HEIGHT;
+        }
+        sample.height = height;
+      }
+      return height;
+    }
+
+    private ColumnSample sample(int x, int z) {
+      try {
+        ZoneBiomeResult zb = generator.getZoneBiomeResultAt(seed, x, z);
+        if (zb == null) return new ColumnSample(x, z, false, null, null);
+
+        String zoneName = zb.getZoneResult().getZone().name();
+        if (loggedZones.add(zoneName)) {
+          System.out.println("[ARCANE SEASONS] Detected zone: " + zoneName);
+        }
+
+        Biome biome = zb.getBiome();
+        return new ColumnSample(x, z, true, zoneName, biome != null ? biome.getName() : null);
+      } catch (Exception e) {
+        return new ColumnSample(x, z, false, null, null);   // silent fail - dont crash worldgen
+      }
+    }
+  }
+
+  public static final class ColumnSample {
+    final int x;
+    final int z;
+    final boolean valid;
+    final String zoneName;
+    final String biomeName;     // null if the generator had no biome here
+    volatile int height = UNSAMPLED;
+
+    ColumnSample(int x, int z, boolean valid, String zoneName, String biomeName) {
+      this.x = x;
+      this.z = z;
+      this.valid = valid;
+      this.zoneName = zoneName;
+      this.biomeName = biomeName;
+    }
+
+    public boolean isValid() {
+      return valid;
+    }
+
+    public String getZoneName() {
+      return zoneName;
+    }
+
+    public String getBiomeName() {
+      return biomeName;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.hypixel.seasons.structures;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// every structure footprint in a world, pending (claimed, paste still queued) or placed, hashed into
+// 64 block cells so an overlap check only looks at the handful of cells a box touches
+// works across chunk borders and across gen threads: readers never lock, claims are serialized so
+// two chunks can never both win the same spot
+public class FootprintIndex {
+
+  private static final int CELL_SHIFT = 6;     // 64 block cells
+
+  private final Map<Long, List<Footprint>> cells = new ConcurrentHashMap<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final Object claimLock = new Object();
+
+  // true and recorded if nothing already in the index overlaps, false and untouched otherwise
+  public boolean tryClaim(Footprint footprint) {
+    synchronized (claimLock) {
+      if (overlapsAny(footprint)) {
+        return false;
+      }
+      insert(footprint);
+      return true;
+    }
+  }
+
+  // records the footprint even if something overlaps, for structures that are already in the world
+  public void claim(Footprint footprint) {
+    synchronized (claimLock) {
+      insert(footprint);
+    }
+  }
+
+  // paste failed or got cancelled, free the space again
+  public void release(Footprint footprint) {
+    boolean removed = false;
+    for (long key : cellsOf(footprint)) {
+      List<Footprint> list = cells.get(key);
+      if (list != null) {
+        removed |= list.remove(footprint);
+      }
+    }
+    if (removed) {
+      size.decrementAndGet();
+    }
+  }
+
+  public boolean overlapsAny(Footprint footprint) {
+    for (long key : cellsOf(footprint)) {
+      List<Footprint> list = cells.get(key);
+      if (list == null) continue;
+      for (Footprint other : list) {
+        if (other != footprint && other.intersects(footprint)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  public int size() {
+    return size.get();
+  }
+
+  public void clear() {
+    synchronized (claimLock) {
+      cells.clear();
+      size.set(0);
+    }
+  }
+
+  private void insert(Footprint footprint) {
+    for (long key : cellsOf(footprint)) {
+      cells.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(footprint);
+    }
+    size.incrementAndGet();
+  }
+
+  private static long[] cellsOf(Footprint footprint) {
+    int minCellX = footprint.minX >> CELL_SHIFT;
+    int maxCellX = footprint.maxX >> CELL_SHIFT;
+    int minCellZ = footprint.minZ >> CELL_SHIFT;
+    int maxCellZ = footprint.maxZ >> CELL_SHIFT;
+
+    long[] keys = new long[(maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1)];
+    int i = 0;
+    for (int cx = minCellX; cx <= maxCellX; cx++) {
+      for (int cz = minCellZ; cz <= maxCellZ; cz++) {
+        keys[i++] = ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+      }
+    }
+    return keys;
+  }
+
+  // world space box a structure takes up, both ends inclusive
+  public static final class Footprint {
+    final String structureId;
+    final int minX;
+    final int minY;
+    final int minZ;
+    final int maxX;
+    final int maxY;
+    final int maxZ;
+    private volatile boolean placed;
+
+    public Footprint(String structureId, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+      this.structureId = structureId;
+      this.minX = minX;
+      this.minY = minY;
+      this.minZ = minZ;
+      this.maxX = maxX;
+      this.maxY = maxY;
+      this.maxZ = maxZ;
+    }
+
+    public boolean intersects(Footprint other) {
+      return minX <= other.maxX && maxX >= other.minX &&
+        minY <= other.maxY && maxY >= other.minY &&
+        minZ <= other.maxZ && maxZ >= other.minZ;
+    }
+
+    public String getStructureId() {
+      return structureId;
+    }
+
+    public boolean isPlaced() {
+      return placed;
+    }
+
+    void markPlaced() {
+      placed = true;
+    }
+
+    @Override
+    public String toString() {
+      return structureId + " [" + minX + "," + minY + "," + minZ + " -> " + maxX + "," + maxY + "," + maxZ + "]" +
+        (placed ? "" : " (pending)");
+    }
+  }
+}
@@ -5,25 +5,21 @@ import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.Rotation;
 import com.hypixel.hytale.server.core.prefab.PrefabRotation;
-import com.hypixel.hytale.server.core.prefab.PrefabStore;
-import com.hypixel.hytale.server.core.prefab.selection.buffer.PrefabBufferUtil;
 import com.hypixel.hytale.server.core.prefab.selection.buffer.impl.IPrefabBuffer;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
 import com.hypixel.hytale.server.core.universe.world.events.ChunkPreLoadProcessEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.hytale.server.core.util.PrefabUtil;
-import com.hypixel.hytale.server.worldgen.biome.Biome;
 import com.hypixel.hytale.server.worldgen.chunk.ChunkGenerator;
 import com.hypixel.hytale.server.worldgen.chunk.ZoneBiomeResult;
+import com.hypixel.seasons.util.PositionalRandom;
 
-import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.BitSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 // okay this class is basically our hook into chunk generation to slap structures down
 // its hooked into ChunkPreLoadProcessEvent so we only run when a brand new chunk is being born
@@ -32,9 +28,15 @@ public class GenerationIntegration {
   private final World world;
   private final StructureRegistry registry;
   private final PrefabResolutionManager prefabManager;
-  private final Map<String, IPrefabBuffer> prefabCache;          // we cache buffers here but honestly barely used right now
-  private final ThreadLocal<Random> threadLocalRandom;
-  private final UniquePlacementPersistence uniquePersistence;    // singleton thing that remembers which uniques we already placed
+  private final PositionalRandom.HashRandom pasteRandom;        // reseeded per paste, world thread only
+  private final UniquePlacementPersistence uniquePersistence;    // remembers which uniques this world already has
+  private final ColumnSampleCache columnSamples;                 // zone/biome/height per chunk, shared by all configs
+  private final FootprintIndex footprints;                       // every claimed / placed structure box in this world
+  private final StructurePasteQueue pasteQueue;                  // pastes wait here and run a few per tick
+  private final Map<String, int[]> prefabExtents;                // prefab path -> min/max around the anchor
+
+  // used when a prefab's bounds cant be read, same +-5 box the old collision check assumed
+  private static final int[] DEFAULT_EXTENT = {-5, -5, -5, 5, 5, 5};
 
   // tiny helper record basically, just bundles data for one potential structure spot
   private static class Candidate {
@@ -60,9 +62,12 @@ public class GenerationIntegration {
     this.world = world;
     this.registry = registry;
     this.prefabManager = prefabManager;
-    this.prefabCache = new HashMap<>();
-    this.threadLocalRandom = ThreadLocal.withInitial(Random::new);
-    this.uniquePersistence = UniquePlacementPersistence.get();
+    this.pasteRandom = new PositionalRandom.HashRandom();
+    this.uniquePersistence = UniquePlacementPersistence.forWorld(world.getName());
+    this.columnSamples = new ColumnSampleCache(256);
+    this.footprints = new FootprintIndex();
+    this.pasteQueue = new StructurePasteQueue(world);
+    this.prefabExtents = new ConcurrentHashMap<>();
   }
 
   // this is the main entry point - called from event bus when chunk is about to finish generating
@@ -70,39 +75,83 @@ public class GenerationIntegration {
     if (!(event instanceof ChunkPreLoadProcessEvent)) return;
 
     ChunkPreLoadProcessEvent chunkEvent = (ChunkPreLoadProcessEvent) event;
-    if (!chunkEvent.isNewlyGenerated()) return;                    // we only care about freshly generated chunks
-
     WorldChunk chunk = chunkEvent.getChunk();
     if (chunk == null) return;
 
     World chunkWorld = chunk.getWorld();
     if (chunkWorld == null || !chunkWorld.equals(this.world)) return;
 
+    // any load counts here, a queued paste might have been waiting for exactly this chunk
+    pasteQueue.onChunkLoaded(ChunkUtil.indexChunk(chunk.getX(), chunk.getZ()));
+
+    if (!chunkEvent.isNewlyGenerated()) return;                    // we only care about freshly generated chunks
+
     Object worldGenObj = chunkWorld.getChunkStore().getGenerator();
     if (!(worldGenObj instanceof ChunkGenerator)) return;
 
     ChunkGenerator generator = (ChunkGenerator) worldGenObj;
     int worldSeed = (int) chunkWorld.getWorldConfig().getSeed();
 
-    List<StructureConfiguration> structures = getApplicableStructures();
-    if (structures.isEmpty()) return;
+    StructureDispatch dispatch = registry.getDispatch();
+    if (dispatch.isEmpty()) return;
+
+    // ask the generator about this chunk once, every config below reads from the same samples
+    ColumnSampleCache.ChunkSamples samples = columnSamples.forChunk(chunk.getX(), chunk.getZ(), generator, worldSeed);
 
-    // go through every structure type we might want to place in this world
+    // only the configs whose zone mask can match a zone this chunk actually has
+    StructureConfiguration[] structures = selectForChunk(dispatch, samples);
     for (StructureConfiguration config : structures) {
-      try {
-        placeStructuresInChunk(chunk, generator, config, worldSeed);
-      } catch (Throwable t) {
-        // dont let one bad structure kill the whole chunk
-        System.err.println("[ARCANE SEASONS] Structure placement failed for: " + config.getId());
-        System.err.println("[ARCANE SEASONS] Error: " + t.getMessage());
-        t.printStackTrace(); // ← would be nice to have real logging later
+      placeSafely(chunk, samples, config);
+    }
+
+    // fixed position structures only get a look from the chunk they sit in
+    List<StructureConfiguration> positioned = dispatch.positionedIn(
+      ChunkUtil.minBlock(chunk.getX()), ChunkUtil.maxBlock(chunk.getX()),
+      ChunkUtil.minBlock(chunk.getZ()), ChunkUtil.maxBlock(chunk.getZ()));
+    for (StructureConfiguration config : positioned) {
+      placeSafely(chunk, samples, config);
+    }
+  }
+
+  // nearly every chunk sits in one zone and gets that zone's prebuilt list, only chunks on a
+  // zone border pay for a merged one
+  private StructureConfiguration[] selectForChunk(StructureDispatch dispatch, ColumnSampleCache.ChunkSamples samples) {
+    String[] zones = null;
+    int count = 0;
+    for (int i = 0; i < samples.gridCount(); i++) {
+      ColumnSampleCache.ColumnSample sample = samples.gridSample(i);
+      if (!sample.isValid() || sample.getZoneName() == null) continue;
+
+      String zone = sample.getZoneName();
+      boolean known = false;
+      for (int j = 0; j < count; j++) {
+        if (zones[j].equals(zone)) {
+          known = true;
+          break;
+        }
       }
+      if (known) continue;
+
+      if (zones == null) zones = new String[samples.gridCount()];
+      zones[count++] = zone;
+    }
+    return dispatch.forZones(zones, count);
+  }
+
+  private void placeSafely(WorldChunk chunk, ColumnSampleCache.ChunkSamples samples, StructureConfiguration config) {
+    try {
+      placeStructuresInChunk(chunk, samples, config);
+    } catch (Throwable t) {
+      // dont let one bad structure kill the whole chunk
+      System.err.println("[ARCANE SEASONS] Structure placement failed for: " + config.getId());
+      System.err.println("[ARCANE SEASONS] Error: " + t.getMessage());
+      t.printStackTrace(); // ← would be nice to have real logging later
     }
   }
 
   // tries to find places and paste structures of one specific config type in this chunk
-  private void placeStructuresInChunk(WorldChunk chunk, ChunkGenerator generator,
-    StructureConfiguration config, int worldSeed) {
+  private void placeStructuresInChunk(WorldChunk chunk, ColumnSampleCache.ChunkSamples samples,
+    StructureConfiguration config) {
     String prefabPath = config.getPrefabPath();
     if (prefabPath == null || prefabPath.isEmpty()) return;
 
@@ -112,10 +161,12 @@ public class GenerationIntegration {
 
     boolean isUnique = config.isUnique();
 
-    // unique structures are only allowed once per world - we check + reserve early
+    // unique structures are only allowed once per world - we check + take a lease early
+    long leaseToken = 0;
     if (isUnique) {
       if (uniquePersistence.hasBeenPlaced(structureId)) return;
-      if (!uniquePersistence.tryReservePlacement(structureId)) return;
+      leaseToken = uniquePersistence.tryReservePlacement(structureId);
+      if (leaseToken == 0) return;
     }
 
     int chunkMinX = ChunkUtil.minBlock(chunk.getX());
@@ -123,53 +174,55 @@ public class GenerationIntegration {
     int chunkMinZ = ChunkUtil.minBlock(chunk.getZ());
     int chunkMaxZ = ChunkUtil.maxBlock(chunk.getZ());
 
-    int seed = (int) world.getWorldConfig().getSeed();
-    long entrySeed = hashCode(seed, structureId.hashCode());
-
-    Random random = threadLocalRandom.get();
-    random.setSeed(entrySeed * 1609272495L);   // some big prime multiplier, dont ask me why this number
+    // everything random about this structure hashes off (world seed, id, position), so a spot
+    // comes out the same whichever gen thread gets to its chunk and in whatever order
+    long salt = PositionalRandom.salt(world.getWorldConfig().getSeed(), structureId);
 
-    List<Candidate> candidates = generateCandidates(chunk, generator, config, worldSeed,
+    List<Candidate> candidates = generateCandidates(chunk, samples, config,
       chunkMinX, chunkMaxX, chunkMinZ, chunkMaxZ,
-      prefabPath, random);
+      prefabPath, salt);
 
     if (candidates.isEmpty()) {
-      if (isUnique) uniquePersistence.releasePendingPlacement(structureId);
+      if (isUnique) uniquePersistence.releasePendingPlacement(structureId, leaseToken);
       return;
     }
 
     System.out.println("[ARCANE SEASONS] Generated " + candidates.size() + " candidates for " + structureId +
       " in chunk (" + chunk.getX() + ", " + chunk.getZ() + ")");
 
-    // unique mode → just take the first (usually only) candidate and try really hard to place it
+    // unique mode → first candidate whose box is clear wins, same overlap rule as everything else
+    // if they all overlap something this chunk gives the lease back and a later chunk can try
     if (isUnique) {
-      Candidate candidate = candidates.get(0);
-      pasteUniqueStructure(chunk, candidate, structureId);
+      for (Candidate candidate : candidates) {
+        FootprintIndex.Footprint footprint = footprintFor(candidate, structureId);
+        if (!footprints.tryClaim(footprint)) continue;
+        pasteUniqueStructure(chunk, candidate, structureId, leaseToken, footprint);
+        return;
+      }
+      System.out.println("[ARCANE SEASONS] Skipped unique structure " + structureId + " in chunk (" +
+        chunk.getX() + ", " + chunk.getZ() + "), every candidate overlaps another structure");
+      uniquePersistence.releasePendingPlacement(structureId, leaseToken);
       return;
     }
 
-    // normal mode - multiple possible spots → try to avoid placing things too close to each other
-    BitSet conflicts = detectCollisions(candidates);
-
-    for (int i = 0; i < candidates.size(); i++) {
-      if (conflicts.get(i)) continue;
+    // normal mode - a spot is only used if its real prefab box is clear of everything else in the
+    // world, including structures from neighbouring chunks that are still waiting to be pasted
+    for (Candidate candidate : candidates) {
+      FootprintIndex.Footprint footprint = footprintFor(candidate, structureId);
+      if (!footprints.tryClaim(footprint)) continue;
 
-      Candidate candidate = candidates.get(i);
       pasteIntoChunk(chunk, candidate.x, candidate.y, candidate.z,
-        candidate.prefabPath, candidate.rotation, structureId);
+        candidate.prefabPath, candidate.rotation, structureId, footprint);
     }
   }
 
   // special path for unique structures - runs inside chunkWorld.execute() so its thread-safe-ish
-  private void pasteUniqueStructure(WorldChunk chunk, Candidate candidate, String structureId) {
-    if (chunk == null) {
-      uniquePersistence.releasePendingPlacement(structureId);
-      return;
-    }
-
-    World chunkWorld = chunk.getWorld();
+  private void pasteUniqueStructure(WorldChunk chunk, Candidate candidate, String structureId, long leaseToken,
+    FootprintIndex.Footprint footprint) {
+    World chunkWorld = chunk != null ? chunk.getWorld() : null;
     if (chunkWorld == null) {
-      uniquePersistence.releasePendingPlacement(structureId);
+      uniquePersistence.releasePendingPlacement(structureId, leaseToken);
+      footprints.release(footprint);
       return;
     }
 
@@ -177,42 +230,59 @@ public class GenerationIntegration {
     Rotation rotation = prefabRotationToRotation(candidate.rotation);
 
     // different seed per position so trees / flowers / randomness inside prefab isnt same everywhere
-    long randomSeed = hashCode((int) world.getWorldConfig().getSeed(), candidate.x * 31 + candidate.z);
+    long randomSeed = pasteSeed(structureId, candidate.x, candidate.z);
 
-    chunkWorld.execute(() -> {
+    // queued rather than pasted right away, the queue decides which tick it fits in
+    pasteQueue.submit(new StructurePasteQueue.PasteJob(structureId, candidate.x, candidate.z, footprint, true, () -> {
       try {
         // double-check because race conditions between chunks are possible in theory
-        if (uniquePersistence.hasBeenPlaced(structureId)) return;
+        // the queue renews our lease while we wait, so this only fails if another chunk really took over
+        if (uniquePersistence.hasBeenPlaced(structureId) || !uniquePersistence.renewReservation(structureId, leaseToken)) {
+          footprints.release(footprint);
+          return;
+        }
 
-        IPrefabBuffer buffer = loadPrefabBuffer(candidate.prefabPath);
+        IPrefabBuffer buffer = prefabManager.acquire(candidate.prefabPath);
         if (buffer == null) {
           System.err.println("[ARCANE SEASONS] Prefab not found for unique structure: " + candidate.prefabPath);
-          uniquePersistence.releasePendingPlacement(structureId);
+          uniquePersistence.releasePendingPlacement(structureId, leaseToken);
+          footprints.release(footprint);
           return;
         }
 
         Store<EntityStore> entityStore = chunkWorld.getEntityStore().getStore();
-        Random random = new Random(randomSeed);
+        Random random = pasteRandom.reseed(randomSeed);
 
-        PrefabUtil.paste(buffer, chunkWorld, position, rotation, true, random, entityStore);
+        try {
+          PrefabUtil.paste(buffer, chunkWorld, position, rotation, true, random, entityStore);
+        } finally {
+          prefabManager.release(candidate.prefabPath, buffer);
+        }
 
-        uniquePersistence.markAsPlaced(structureId);
+        uniquePersistence.markAsPlaced(structureId, leaseToken);
+        footprint.markPlaced();
+        recordSpawned(chunkWorld, entityStore, structureId, position, candidate.rotation);
         System.out.println("[ARCANE SEASONS] Placed unique structure '" + structureId +
           "' at (" + candidate.x + ", " + candidate.y + ", " + candidate.z + ")");
       } catch (Exception e) {
         System.err.println("[ARCANE SEASONS] Error pasting unique structure at (" +
           candidate.x + ", " + candidate.y + ", " + candidate.z + ")");
         System.err.println("[ARCANE SEASONS] Error: " + e.getMessage());
-        uniquePersistence.releasePendingPlacement(structureId);
+        uniquePersistence.releasePendingPlacement(structureId, leaseToken);
+        footprints.release(footprint);
       }
-    });
+    }, () -> {
+      // chunk went away before its turn, another chunk can have a go at this unique
+      uniquePersistence.releasePendingPlacement(structureId, leaseToken);
+      footprints.release(footprint);
+    }, () -> uniquePersistence.renewReservation(structureId, leaseToken)));
   }
 
   // decides where we even consider placing this structure inside the chunk
-  private List<Candidate> generateCandidates(WorldChunk chunk, ChunkGenerator generator,
-    StructureConfiguration config, int worldSeed,
+  private List<Candidate> generateCandidates(WorldChunk chunk, ColumnSampleCache.ChunkSamples samples,
+    StructureConfiguration config,
     int chunkMinX, int chunkMaxX, int chunkMinZ, int chunkMaxZ,
-    String prefabPath, Random random) {
+    String prefabPath, long salt) {
     List<Candidate> candidates = new ArrayList<>();
 
     // some structures have one hardcoded position (mostly for debugging / specific placements)
@@ -221,10 +291,10 @@ public class GenerationIntegration {
       boolean inChunk = position.x >= chunkMinX && position.x <= chunkMaxX &&
       position.z >= chunkMinZ && position.z <= chunkMaxZ;
       if (inChunk) {
-        boolean passesFilter = filterByZoneBiome(generator, position.x, position.z, config, worldSeed);
-        if (passesFilter) {
-          int height = getHeight(position.x, position.z, generator, config, worldSeed);
-          PrefabRotation rotation = chooseRotation(config, random);
+        ColumnSampleCache.ColumnSample sample = samples.at(position.x, position.z);
+        if (filterByZoneBiome(sample, config)) {
+          int height = samples.heightAt(sample);
+          PrefabRotation rotation = chooseRotation(config, salt, position.x, position.z);
           candidates.add(new Candidate(position.x, height, position.z, 0, rotation, prefabPath));
           System.out.println("[ARCANE SEASONS] Fixed position candidate for " + config.getId() +
             " at (" + position.x + ", " + height + ", " + position.z + ")");
@@ -233,15 +303,20 @@ public class GenerationIntegration {
       return candidates; // early out - fixed position mode
     }
 
+    if (config.usesRegionGrid()) {
+      return generateRegionCandidates(samples, config, chunkMinX, chunkMaxX, chunkMinZ, chunkMaxZ, prefabPath);
+    }
+
     // normal scattered mode - grid based attempts
-    int gridSpacing = 16;   // magic number, probably should come from config later
+    int gridSpacing = ColumnSampleCache.GRID_SPACING;   // probably should come from config later
 
     for (int x = chunkMinX; x <= chunkMaxX; x += gridSpacing) {
       for (int z = chunkMinZ; z <= chunkMaxZ; z += gridSpacing) {
-        if (filterByZoneBiome(generator, x, z, config, worldSeed)) {
-          int height = getHeight(x, z, generator, config, worldSeed);
+        ColumnSampleCache.ColumnSample sample = samples.at(x, z);
+        if (filterByZoneBiome(sample, config)) {
+          int height = samples.heightAt(sample);
           if (height >= 0 && height < 320) {   // rough sanity check
-            PrefabRotation rotation = chooseRotation(config, random);
+            PrefabRotation rotation = chooseRotation(config, salt, x, z);
             candidates.add(new Candidate(x, height, z, 0, rotation, prefabPath));
           }
         }
@@ -251,170 +326,200 @@ public class GenerationIntegration {
     return candidates;
   }
 
-  // debug helper to see what zones actually exist - probably remove later
-  private static final java.util.Set<String> loggedZones = java.util.concurrent.ConcurrentHashMap.newKeySet();
-
   // checks if this x,z location is allowed for this structure type (zone + biome filter)
-  private boolean filterByZoneBiome(ChunkGenerator generator, int x, int z,
-    StructureConfiguration config, int worldSeed) {
-    try {
-      ZoneBiomeResult zb = generator.getZoneBiomeResultAt(worldSeed, x, z);
-      if (zb == null) return false;
+  // the sample already swallowed any generator errors, an invalid one just never passes
+  private boolean filterByZoneBiome(ColumnSampleCache.ColumnSample sample, StructureConfiguration config) {
+    if (!sample.isValid()) return false;
+    if (!config.getZoneMatcher().matches(sample.getZoneName())) return false;
+
+    String biomeName = sample.getBiomeName();
+    if (biomeName == null) return false;
+    return config.getBiomeMatcher().matches(biomeName);
+  }
 
-      String zoneName = zb.getZoneResult().getZone().name();
-      if (loggedZones.add(zoneName)) {
-        System.out.println("[ARCANE SEASONS] Detected zone: " + zoneName);
+  // region grid mode - each region has one hashed spot, only the spots that land in this chunk
+  // get the zone / biome / height checks
+  private List<Candidate> generateRegionCandidates(ColumnSampleCache.ChunkSamples samples,
+    StructureConfiguration config,
+    int chunkMinX, int chunkMaxX, int chunkMinZ, int chunkMaxZ, String prefabPath) {
+    List<Candidate> candidates = new ArrayList<>(1);
+    RegionPlacement placement = new RegionPlacement(config.getSpacing(), config.getSeparation(),
+      world.getWorldConfig().getSeed(), config.getId());
+
+    for (int regionX = placement.regionOf(chunkMinX); regionX <= placement.regionOf(chunkMaxX); regionX++) {
+      for (int regionZ = placement.regionOf(chunkMinZ); regionZ <= placement.regionOf(chunkMaxZ); regionZ++) {
+        int x = placement.candidateX(regionX, regionZ);
+        int z = placement.candidateZ(regionX, regionZ);
+        if (x < chunkMinX || x > chunkMaxX || z < chunkMinZ || z > chunkMaxZ) continue;   // another chunk's spot
+
+        ColumnSampleCache.ColumnSample sample = samples.at(x, z);
+        if (!filterByZoneBiome(sample, config)) continue;
+
+        int height = samples.heightAt(sample);
+        if (height >= 0 && height < 320) {
+          PrefabRotation rotation = config.getRotation() != null
+            ? config.getRotation()
+            : placement.rotation(regionX, regionZ);
+          candidates.add(new Candidate(x, height, z, 0, rotation, prefabPath));
+        }
       }
+    }
+    return candidates;
+  }
 
-      if (!matchesAny(zoneName, config.getZoneMask())) return false;
+  private PrefabRotation chooseRotation(StructureConfiguration config, long salt, int x, int z) {
+    PrefabRotation rotation = config.getRotation();
+    if (rotation != null) return rotation;
 
-      Biome biome = zb.getBiome();
-      if (biome == null) return false;
+    PrefabRotation[] rotations = PrefabRotation.VALUES;
+    if (rotations == null || rotations.length == 0) return PrefabRotation.ROTATION_0;
 
-      String biomeName = biome.getName();
-      return matchesAny(biomeName, config.getBiomeMask());
-    } catch (Exception e) {
-      return false;   // silent fail - dont crash worldgen
-    }
+    return rotations[PositionalRandom.nextInt(PositionalRandom.hash(salt, x, z), rotations.length)];
   }
 
-  private boolean matchesAny(String value, String[] patterns) {
-    if (patterns == null || patterns.length == 0) return true;
-    for (String pattern : patterns) {
-      if (matchesPattern(value, pattern)) return true;
+  // world space box of a candidate, from the prefab's own bounds turned the way it will be pasted
+  // the footprint index only lives in memory, so at world start it gets the structures earlier sessions
+  // already put down, otherwise a chunk generated next to one of them could paste right over it
+  public int seedFootprints(List<StructureDataResource.SpawnedStructure> spawned,
+    Map<String, StructureConfiguration> configsById) {
+    int seeded = 0;
+    for (StructureDataResource.SpawnedStructure structure : spawned) {
+      Vector3i position = structure.getPosition();
+      if (position == null || structure.getConfigId() == null) continue;
+
+      StructureConfiguration config = configsById.get(structure.getConfigId());
+      Candidate candidate = new Candidate(position.getX(), position.getY(), position.getZ(), 0,
+        structure.getRotation(), config != null ? config.getPrefabPath() : null);
+      FootprintIndex.Footprint footprint = footprintFor(candidate, structure.getConfigId());
+      footprints.claim(footprint);
+      footprint.markPlaced();
+      seeded++;
     }
-    return false;
+    return seeded;
   }
 
-  // very basic glob-like matching with * support
-  private boolean matchesPattern(String value, String pattern) {
-    if (value == null || pattern == null) return false;
-    if ("*".equals(pattern)) return true;
-
-    pattern = pattern.toLowerCase();
-    value = value.toLowerCase();
-
-    if (!pattern.contains("*")) return pattern.equals(value);
+  private FootprintIndex.Footprint footprintFor(Candidate candidate, String structureId) {
+    int[] e = candidate.prefabPath != null
+      ? prefabExtents.computeIfAbsent(candidate.prefabPath, this::readExtent)
+      : DEFAULT_EXTENT;
+    int minX = e[0], minZ = e[2], maxX = e[3], maxZ = e[5];
+
+    switch (candidate.rotation != null ? candidate.rotation : PrefabRotation.ROTATION_0) {
+      case ROTATION_90:
+        minX = -e[5]; maxX = -e[2]; minZ = e[0]; maxZ = e[3];
+        break;
+      case ROTATION_180:
+        minX = -e[3]; maxX = -e[0]; minZ = -e[5]; maxZ = -e[2];
+        break;
+      case ROTATION_270:
+        minX = e[2]; maxX = e[5]; minZ = -e[3]; maxZ = -e[0];
+        break;
+      default:
+        break;
+    }
 
-    String regex = pattern.replace(".", "\\.").replace("*", ".*");
-    return value.matches(regex);
+    return new FootprintIndex.Footprint(structureId,
+      candidate.x + minX, candidate.y + e[1], candidate.z + minZ,
+      candidate.x + maxX, candidate.y + e[4], candidate.z + maxZ);
   }
 
-  // wrapper that swallows exceptions - height is very important so we default to 64
-  private int getHeight(int x, int z, ChunkGenerator generator,
-    StructureConfiguration config, int worldSeed) {
+  // min/max of the prefab relative to its anchor, read once per prefab
+  private int[] readExtent(String prefabPath) {
     try {
-      return generator.getHeight(worldSeed, x, z);
+      IPrefabBuffer buffer = prefabManager.acquire(prefabPath);
+      if (buffer == null) return DEFAULT_EXTENT;
+
+      try {
+        int anchorX = buffer.getAnchorX();
+        int anchorY = buffer.getAnchorY();
+        int anchorZ = buffer.getAnchorZ();
+        return new int[]{
+          buffer.getMinX() - anchorX, buffer.getMinY() - anchorY, buffer.getMinZ() - anchorZ,
+          buffer.getMaxX() - anchorX, buffer.getMaxY() - anchorY, buffer.getMaxZ() - anchorZ
+        };
+      } finally {
+        prefabManager.release(prefabPath, buffer);
+      }
     } catch (Exception e) {
-      return 64;
+      System.err.println("[ARCANE SEASONS] Could not read bounds of prefab " + prefabPath + ", using default box: " + e.getMessage());
+      return DEFAULT_EXTENT;
     }
   }
 
-  private PrefabRotation chooseRotation(StructureConfiguration config, Random random) {
-    PrefabRotation rotation = config.getRotation();
-    if (rotation != null) return rotation;
-
-    PrefabRotation[] rotations = PrefabRotation.VALUES;
-    if (rotations == null || rotations.length == 0) return PrefabRotation.ROTATION_0;
-
-    return rotations[random.nextInt(rotations.length)];
+  public FootprintIndex getFootprints() {
+    return footprints;
   }
 
-  // very dumb aabb overlap check - marks later candidates as conflicting if they are close
-  // the -5 / +5 is basically a hardcoded exclusion zone
-  private BitSet detectCollisions(List<Candidate> candidates) {
-    BitSet conflicts = new BitSet();
-
-    for (int i = 0; i < candidates.size(); i++) {
-      Candidate candidate = candidates.get(i);
-      for (int j = i + 1; j < candidates.size(); j++) {
-        Candidate other = candidates.get(j);
-        if (intersects(candidate.x - 5, candidate.y - 5, candidate.z - 5,
-          candidate.x + 5, candidate.y + 5, candidate.z + 5,
-          other.x - 5, other.y - 5, other.z - 5,
-          other.x + 5, other.y + 5, other.z + 5)) {
-          conflicts.set(j);   // later one loses
-        }
-      }
-    }
-    return conflicts;
+  public StructurePasteQueue getPasteQueue() {
+    return pasteQueue;
   }
 
-  private boolean intersects(int minX1, int minY1, int minZ1, int maxX1, int maxY1, int maxZ1,
-    int minX2, int minY2, int minZ2, int maxX2, int maxY2, int maxZ2) {
-    return maxX1 >= minX2 && minX1 <= maxX2 &&
-    maxY1 >= minY2 && minY1 <= maxY2 &&
-    maxZ1 >= minZ2 && minZ1 <= maxZ2;
+  public World getWorld() {
+    return world;
   }
 
   // normal paste logic for non-unique structures
   private void pasteIntoChunk(WorldChunk chunk, int anchorX, int anchorY, int anchorZ,
-    String prefabPath, PrefabRotation prefabRotation, String structureId) {
-    if (chunk == null || prefabPath == null) return;
-
-    World chunkWorld = chunk.getWorld();
-    if (chunkWorld == null) return;
+    String prefabPath, PrefabRotation prefabRotation, String structureId, FootprintIndex.Footprint footprint) {
+    World chunkWorld = chunk != null ? chunk.getWorld() : null;
+    if (chunkWorld == null || prefabPath == null) {
+      footprints.release(footprint);
+      return;
+    }
 
     Vector3i position = new Vector3i(anchorX, anchorY, anchorZ);
     Rotation rotation = prefabRotationToRotation(prefabRotation);
 
-    long randomSeed = hashCode((int) world.getWorldConfig().getSeed(), anchorX * 31 + anchorZ);
+    long randomSeed = pasteSeed(structureId, anchorX, anchorZ);
 
-    chunkWorld.execute(() -> {
+    pasteQueue.submit(new StructurePasteQueue.PasteJob(structureId, anchorX, anchorZ, footprint, false, () -> {
       try {
-        IPrefabBuffer buffer = loadPrefabBuffer(prefabPath);
+        IPrefabBuffer buffer = prefabManager.acquire(prefabPath);
         if (buffer == null) {
           System.err.println("[ARCANE SEASONS] Prefab not found for paste: " + prefabPath);
+          footprints.release(footprint);
           return;
         }
 
         Store<EntityStore> entityStore = chunkWorld.getEntityStore().getStore();
-        Random random = new Random(randomSeed);
+        Random random = pasteRandom.reseed(randomSeed);
 
-        PrefabUtil.paste(buffer, chunkWorld, position, rotation, true, random, entityStore);
+        try {
+          PrefabUtil.paste(buffer, chunkWorld, position, rotation, true, random, entityStore);
+        } finally {
+          prefabManager.release(prefabPath, buffer);
+        }
+        footprint.markPlaced();
+        recordSpawned(chunkWorld, entityStore, structureId, position, prefabRotation);
 
         System.out.println("[ARCANE SEASONS] Placed structure at (" + anchorX + ", " + anchorY + ", " + anchorZ + ")");
       } catch (Exception e) {
         System.err.println("[ARCANE SEASONS] Error pasting structure at (" + anchorX + ", " + anchorY + ", " + anchorZ + ")");
         System.err.println("[ARCANE SEASONS] Error: " + e.getMessage());
+        footprints.release(footprint);
       }
-    });
+    }, () -> footprints.release(footprint)));
   }
 
-  // tries multiple common prefab path prefixes because nobody can agree where things live
-  private static final java.util.Set<String> loggedPrefabs = java.util.concurrent.ConcurrentHashMap.newKeySet();
-
-  private IPrefabBuffer loadPrefabBuffer(String prefabPath) {
+  // a structure pasted during play goes into the world's saved structure data and straight into its
+  // discovery index, so it can be found without waiting for a restart. world thread only
+  private void recordSpawned(World chunkWorld, Store<EntityStore> entityStore, String structureId,
+    Vector3i position, PrefabRotation rotation) {
     try {
-      PrefabStore prefabStore = PrefabStore.get();
-      if (prefabStore == null) return null;
-
-      String normalizedPath = prefabPath.replace(".", "/");
-
-      String[] pathFormats = {
-        normalizedPath + ".prefab.json",
-        "Server/Prefabs/" + normalizedPath + ".prefab.json",
-        "structures/" + normalizedPath + ".prefab.json"
-      };
-
-      for (String pathFormat : pathFormats) {
-        Path foundPath = prefabStore.findAssetPrefabPath(pathFormat);
-        if (foundPath != null) {
-          IPrefabBuffer buffer = PrefabBufferUtil.getCached(foundPath);
-          if (loggedPrefabs.add(prefabPath)) {
-            System.out.println("[ARCANE SEASONS] Loaded prefab buffer: " + prefabPath + " -> " + foundPath);
-          }
-          return buffer;
-        }
+      StructureDataResource.SpawnedStructure spawned =
+        new StructureDataResource.SpawnedStructure(structureId, position, rotation, System.currentTimeMillis());
+
+      StructureDataResource data = new StructurePersistenceManager(entityStore).loadOrCreate();
+      if (data != null) {
+        data.addSpawnedStructure(spawned);
       }
 
-      if (loggedPrefabs.add(prefabPath + "_notfound")) {
-        System.err.println("[ARCANE SEASONS] Prefab not found in any path: " + prefabPath);
+      StructureDiscoveryEngine engine = SeasonStructureInitializer.get().getDiscoveryEngine(chunkWorld);
+      if (engine != null) {
+        engine.add(spawned);
       }
-      return null;
     } catch (Exception e) {
-      System.err.println("[ARCANE SEASONS] Error loading prefab buffer: " + e.getMessage());
-      return null;
+      System.err.println("[ARCANE SEASONS] Could not record structure " + structureId + " at " + position + ": " + e.getMessage());
     }
   }
 
@@ -432,11 +537,10 @@ public class GenerationIntegration {
     return new ArrayList<>(registry.getAllStructures());
   }
 
-  // simple hash helper - used for seeding randomness per structure / position
-  private long hashCode(int seed, int value) {
-    long result = seed;
-    result = result * 31L + value;
-    return result;
+  // seed for the randomness inside one pasted prefab (trees, loot, ...)
+  private long pasteSeed(String structureId, int x, int z) {
+    long salt = PositionalRandom.salt(world.getWorldConfig().getSeed(), structureId);
+    return PositionalRandom.hash(PositionalRandom.mix(salt), x, z);
   }
 
   // debug method - probably dont need in production but useful when testing new biomes/zones
@@ -0,0 +1,158 @@
+package com.hypixel.seasons.structures;
+
+import com.hypixel.seasons.util.NameIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// zone / biome mask compiled once when the structure config is built
+// same rules as before: case insensitive, "*" matches anything, * inside a mask is a wildcard
+// plain names go in a hashed set, the usual glob shapes (foo*, *foo, *foo*, foo*bar) become
+// region compares, only odd ones with several wildcards fall back to a precompiled Pattern
+// matches() doesnt allocate for anything but that last case
+public final class MaskMatcher {
+
+  public static final MaskMatcher ANY = new MaskMatcher(true, null, new String[0], new String[0],
+    new String[0], new String[0][], new Pattern[0]);
+
+  private final boolean matchAll;
+  private final NameIndex<Boolean> exact;
+  private final String[] prefixes;
+  private final String[] suffixes;
+  private final String[] contains;
+  private final String[][] prefixSuffix;    // {prefix, suffix} for foo*bar
+  private final Pattern[] patterns;
+
+  private MaskMatcher(boolean matchAll, NameIndex<Boolean> exact, String[] prefixes, String[] suffixes,
+    String[] contains, String[][] prefixSuffix, Pattern[] patterns) {
+    this.matchAll = matchAll;
+    this.exact = exact;
+    this.prefixes = prefixes;
+    this.suffixes = suffixes;
+    this.contains = contains;
+    this.prefixSuffix = prefixSuffix;
+    this.patterns = patterns;
+  }
+
+  // null or empty mask list means no filter at all, like before
+  public static MaskMatcher compile(String[] masks) {
+    if (masks == null || masks.length == 0) {
+      return ANY;
+    }
+
+    NameIndex<Boolean> exact = null;
+    List<String> prefixes = new ArrayList<>();
+    List<String> suffixes = new ArrayList<>();
+    List<String> contains = new ArrayList<>();
+    List<String[]> prefixSuffix = new ArrayList<>();
+    List<Pattern> patterns = new ArrayList<>();
+
+    for (String mask : masks) {
+      if (mask == null) continue;     // a null entry never matched anything
+      if ("*".equals(mask)) {
+        return ANY;
+      }
+
+      int first = mask.indexOf('*');
+      if (first < 0) {
+        if (exact == null) {
+          exact = new NameIndex<>(masks.length);
+        }
+        exact.put(mask, Boolean.TRUE);
+        continue;
+      }
+
+      int last = mask.lastIndexOf('*');
+      int stars = countStars(mask);
+      boolean leading = first == 0;
+      boolean trailing = last == mask.length() - 1;
+
+      if (stars == 1 && trailing) {
+        prefixes.add(mask.substring(0, mask.length() - 1));
+      } else if (stars == 1 && leading) {
+        suffixes.add(mask.substring(1));
+      } else if (stars == 1) {
+        prefixSuffix.add(new String[]{mask.substring(0, first), mask.substring(first + 1)});
+      } else if (stars == 2 && leading && trailing) {
+        contains.add(mask.substring(1, mask.length() - 1));
+      } else {
+        patterns.add(toPattern(mask));
+      }
+    }
+
+    return new MaskMatcher(false, exact,
+      prefixes.toArray(new String[0]),
+      suffixes.toArray(new String[0]),
+      contains.toArray(new String[0]),
+      prefixSuffix.toArray(new String[0][]),
+      patterns.toArray(new Pattern[0]));
+  }
+
+  public boolean matchesAll() {
+    return matchAll;
+  }
+
+  public boolean matches(String value) {
+    if (matchAll) return true;
+    if (value == null) return false;
+
+    if (exact != null && exact.get(value) != null) return true;
+
+    int length = value.length();
+    for (String prefix : prefixes) {
+      if (value.regionMatches(true, 0, prefix, 0, prefix.length())) return true;
+    }
+    for (String suffix : suffixes) {
+      if (length >= suffix.length() && value.regionMatches(true, length - suffix.length(), suffix, 0, suffix.length())) {
+        return true;
+      }
+    }
+    for (String part : contains) {
+      if (containsIgnoreCase(value, part)) return true;
+    }
+    for (String[] pair : prefixSuffix) {
+      String prefix = pair[0];
+      String suffix = pair[1];
+      if (length >= prefix.length() + suffix.length()
+        && value.regionMatches(true, 0, prefix, 0, prefix.length())
+        && value.regionMatches(true, length - suffix.length(), suffix, 0, suffix.length())) {
+        return true;
+      }
+    }
+    for (Pattern pattern : patterns) {
+      if (pattern.matcher(value).matches()) return true;
+    }
+    return false;
+  }
+
+  private static boolean containsIgnoreCase(String value, String part) {
+    int max = value.length() - part.length();
+    for (int i = 0; i <= max; i++) {
+      if (value.regionMatches(true, i, part, 0, part.length())) return true;
+    }
+    return false;
+  }
+
+  private static int countStars(String mask) {
+    int count = 0;
+    for (int i = 0; i < mask.length(); i++) {
+      if (mask.charAt(i) == '*') count++;
+    }
+    return count;
+  }
+
+  // everything between the stars is literal
+  private static Pattern toPattern(String mask) {
+    StringBuilder regex = new StringBuilder();
+    int start = 0;
+    int star;
+    while ((star = mask.indexOf('*', start)) >= 0) {
+      if (star > start) regex.append(Pattern.quote(mask.substring(start, star)));
+      regex.append(".*");
+      start = star + 1;
+    }
+    if (start < mask.length()) regex.append(Pattern.quote(mask.substring(start)));
+    return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+  }
+}
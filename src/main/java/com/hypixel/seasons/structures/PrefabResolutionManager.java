@@ -5,52 +5,331 @@ import com.hypixel.hytale.server.core.prefab.selection.buffer.PrefabBufferUtil;
 import com.hypixel.hytale.server.core.prefab.selection.buffer.impl.IPrefabBuffer;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+// the one place prefab keys get turned into buffers, shared by world gen, the spawning system and echoes
+// a key is probed against the asset packs once, after that the path is remembered and the buffer is
+// kept in a small LRU, so pasting the same prefab again never touches the filesystem
+// keys that werent found are remembered too for a little while, so a typo in a config doesnt probe
+// three paths on every chunk
+// buffers are handed out with acquire() and handed back with release(); an evicted buffer is only
+// released for real once nobody is holding it anymore
+// warmUp() does the probing and decoding for a batch of keys on a background pool ahead of time, so
+// the first paste on the world thread already finds the buffer cached
 public class PrefabResolutionManager {
-    private final Map<String, IPrefabBuffer> cache = new ConcurrentHashMap<>();
 
-    public IPrefabBuffer getPrefab(String key) {
+    private static final int MAX_BUFFERS = 64;
+    private static final long MISS_TTL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final String[] PATH_FORMATS = {
+        "%s.prefab.json",
+        "Server/Prefabs/%s.prefab.json",
+        "structures/%s.prefab.json"
+    };
+
+    private static PrefabResolutionManager instance;
+
+    private static final AtomicInteger WARMER_IDS = new AtomicInteger();
+    private static final ExecutorService WARMERS = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+        runnable -> {
+            Thread thread = new Thread(runnable, "Seasons-PrefabWarmup-" + WARMER_IDS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private static final class CachedPrefab {
+        final IPrefabBuffer buffer;
+        int refs;
+        boolean evicted;
+
+        CachedPrefab(IPrefabBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    private final Map<String, Path> resolvedPaths = new ConcurrentHashMap<>();
+    private final Map<String, Long> missesUntil = new ConcurrentHashMap<>();     // key -> nanoTime the miss expires
+    private final Map<String, CachedPrefab> buffers = new LinkedHashMap<>(32, 0.75f, true);   // guarded by this
+    private final Map<String, CachedPrefab> evictedHeld = new HashMap<>();     // evicted but still held, guarded by this
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+
+    public static synchronized PrefabResolutionManager get() {
+        if (instance == null) {
+            instance = new PrefabResolutionManager();
+        }
+        return instance;
+    }
+
+    // buffer for the key with one reference taken, null if the prefab doesnt exist
+    // every non null result needs a matching release(key, buffer)
+    public IPrefabBuffer acquire(String key) {
+        return acquire(key, true);
+    }
+
+    private IPrefabBuffer acquire(String key, boolean rememberMiss) {
         if (key == null || key.isEmpty()) {
             return null;
         }
-
         String normalized = normalizePrefabKey(key);
 
-        IPrefabBuffer cached = cache.get(normalized);
-        if (cached != null) {
-            return cached;
+        synchronized (this) {
+            CachedPrefab cached = buffers.get(normalized);
+            if (cached != null) {
+                cached.refs++;
+                hits.incrementAndGet();
+                return cached.buffer;
+            }
         }
 
-        IPrefabBuffer buffer = loadFromAssetPacks(normalized);
-        if (buffer != null) {
-            cache.put(normalized, buffer);
-            System.out.println("[ARCANE SEASONS] Prefab loaded and cached: " + normalized);
+        Path path = resolvePath(normalized, rememberMiss);
+        if (path == null) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        IPrefabBuffer buffer;
+        try {
+            buffer = PrefabBufferUtil.getCached(path);
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Error loading prefab: " + normalized + " - " + e.getMessage());
+            return null;
+        }
+        loads.incrementAndGet();
+        loadNanos.addAndGet(System.nanoTime() - start);
+        if (buffer == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            CachedPrefab cached = buffers.get(normalized);
+            if (cached == null) {
+                cached = new CachedPrefab(buffer);
+                buffers.put(normalized, cached);
+                System.out.println("[ARCANE SEASONS] Prefab loaded and cached: " + normalized + " -> " + path);
+                trim();
+            }
+            // if another thread got here first we just share its buffer
+            cached.refs++;
+            return cached.buffer;
         }
-        return buffer;
     }
 
-    public void releasePrefab(String key) {
+    public void release(String key, IPrefabBuffer buffer) {
+        if (key == null || key.isEmpty() || buffer == null) {
+            return;
+        }
+        String normalized = normalizePrefabKey(key);
+        IPrefabBuffer toRelease = null;
+        synchronized (this) {
+            CachedPrefab cached = buffers.get(normalized);
+            if (cached == null || cached.buffer != buffer) {
+                // evicted while it was held, it waits there for its last holder
+                cached = evictedHeld.get(normalized);
+            }
+            if (cached == null || cached.buffer != buffer || cached.refs == 0) {
+                return;
+            }
+            cached.refs--;
+            if (cached.evicted && cached.refs == 0) {
+                evictedHeld.remove(normalized);
+                toRelease = cached.buffer;
+            }
+        }
+        releaseBuffer(normalized, toRelease);
+    }
+
+    // drops the buffer from the cache, the next acquire loads it again
+    public void evict(String key) {
         if (key == null || key.isEmpty()) {
             return;
         }
         String normalized = normalizePrefabKey(key);
-        IPrefabBuffer removed = cache.remove(normalized);
-        if (removed != null) {
-            removed.release();
+        IPrefabBuffer toRelease;
+        synchronized (this) {
+            CachedPrefab cached = buffers.remove(normalized);
+            toRelease = retire(normalized, cached);
         }
-        System.out.println("[ARCANE SEASONS] Prefab released: " + normalized);
+        releaseBuffer(normalized, toRelease);
     }
 
-    private String normalizePrefabKey(String key) {
+    // path of the prefab in the asset packs, memoized, null while the key is a known miss
+    public Path resolvePath(String key) {
+        return resolvePath(key, true);
+    }
+
+    private Path resolvePath(String key, boolean rememberMiss) {
         if (key == null || key.isEmpty()) {
-            return key;
+            return null;
         }
-        return key.replace('.', '/').replace("\\", "/");
+        String normalized = normalizePrefabKey(key);
+
+        Path path = resolvedPaths.get(normalized);
+        if (path != null) {
+            return path;
+        }
+
+        Long missUntil = missesUntil.get(normalized);
+        if (missUntil != null) {
+            if (System.nanoTime() - missUntil < 0) {
+                negativeHits.incrementAndGet();
+                return null;
+            }
+            missesUntil.remove(normalized);
+        }
+
+        misses.incrementAndGet();
+        path = probe(normalized);
+        if (path != null) {
+            resolvedPaths.put(normalized, path);
+        } else if (rememberMiss) {
+            missesUntil.put(normalized, System.nanoTime() + MISS_TTL_NANOS);
+            System.err.println("[ARCANE SEASONS] Prefab not found in any path: " + normalized);
+        }
+        return path;
     }
 
-    private IPrefabBuffer loadFromAssetPacks(String normalizedKey) {
+    // resolves and decodes every key on the warm-up pool, completes once all of them were tried
+    // a key that cant be found yet isnt remembered as a miss, asset packs might still be loading
+    public CompletableFuture<Void> warmUp(Collection<String> keys, String reason) {
+        Set<String> toWarm = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (key == null || key.isEmpty()) continue;
+            String normalized = normalizePrefabKey(key);
+            synchronized (this) {
+                if (buffers.containsKey(normalized)) continue;
+            }
+            toWarm.add(normalized);
+        }
+        if (toWarm.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long start = System.nanoTime();
+        AtomicInteger ready = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (String key : toWarm) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                IPrefabBuffer buffer = acquire(key, false);
+                if (buffer != null) {
+                    release(key, buffer);
+                    ready.incrementAndGet();
+                }
+            }, WARMERS));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).whenComplete((v, error) -> {
+            System.out.println("[ARCANE SEASONS] Prefab warm-up (" + reason + "): " + ready.get() + "/" + toWarm.size() +
+                " ready in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + "ms");
+            if (error != null) {
+                System.err.println("[ARCANE SEASONS] Prefab warm-up error: " + error.getMessage());
+            }
+        });
+    }
+
+    // forget everything, asset packs changed or the plugin is shutting down
+    public void clear() {
+        List<Map.Entry<String, IPrefabBuffer>> toRelease = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, CachedPrefab> entry : buffers.entrySet()) {
+                IPrefabBuffer buffer = retire(entry.getKey(), entry.getValue());
+                if (buffer != null) {
+                    toRelease.add(Map.entry(entry.getKey(), buffer));
+                }
+            }
+            buffers.clear();
+        }
+        resolvedPaths.clear();
+        missesUntil.clear();
+        for (Map.Entry<String, IPrefabBuffer> entry : toRelease) {
+            releaseBuffer(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getNegativeHits() {
+        return negativeHits.get();
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    // average time spent in PrefabBufferUtil per load, in microseconds
+    public long getAverageLoadMicros() {
+        long count = loads.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(loadNanos.get() / count);
+    }
+
+    public synchronized int getCachedCount() {
+        return buffers.size();
+    }
+
+    // caller holds the lock, returns the buffer to release now (outside the lock) or null
+    private IPrefabBuffer retire(String normalized, CachedPrefab cached) {
+        if (cached == null) {
+            return null;
+        }
+        cached.evicted = true;
+        if (cached.refs > 0) {
+            evictedHeld.put(normalized, cached);
+            return null;
+        }
+        return cached.buffer;
+    }
+
+    // caller holds the lock
+    private void trim() {
+        Iterator<Map.Entry<String, CachedPrefab>> it = buffers.entrySet().iterator();
+        while (buffers.size() > MAX_BUFFERS && it.hasNext()) {
+            Map.Entry<String, CachedPrefab> eldest = it.next();
+            it.remove();
+            IPrefabBuffer toRelease = retire(eldest.getKey(), eldest.getValue());
+            // releasing under the lock here is fine, eviction by size is rare
+            releaseBuffer(eldest.getKey(), toRelease);
+        }
+    }
+
+    private void releaseBuffer(String normalized, IPrefabBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            buffer.release();
+            System.out.println("[ARCANE SEASONS] Prefab released: " + normalized);
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Error releasing prefab " + normalized + ": " + e.getMessage());
+        }
+    }
+
+    private Path probe(String normalizedKey) {
         try {
             PrefabStore prefabStore = PrefabStore.get();
             if (prefabStore == null) {
@@ -58,24 +337,20 @@ public class PrefabResolutionManager {
                 return null;
             }
 
-            String[] pathFormats = {
-                normalizedKey + ".prefab.json",
-                "Server/Prefabs/" + normalizedKey + ".prefab.json",
-                "structures/" + normalizedKey + ".prefab.json"
-            };
-
-            for (String pathFormat : pathFormats) {
-                Path prefabPath = prefabStore.findAssetPrefabPath(pathFormat);
+            for (String format : PATH_FORMATS) {
+                Path prefabPath = prefabStore.findAssetPrefabPath(String.format(format, normalizedKey));
                 if (prefabPath != null) {
-                    return PrefabBufferUtil.getCached(prefabPath);
+                    return prefabPath;
                 }
             }
-
-            System.err.println("[ARCANE SEASONS] Failed to load prefab: " + normalizedKey);
             return null;
         } catch (Exception e) {
-            System.err.println("[ARCANE SEASONS] Error loading prefab: " + normalizedKey + " - " + e.getMessage());
+            System.err.println("[ARCANE SEASONS] Error resolving prefab: " + normalizedKey + " - " + e.getMessage());
             return null;
         }
     }
+
+    private String normalizePrefabKey(String key) {
+        return key.replace('.', '/').replace("\\", "/");
+    }
 }
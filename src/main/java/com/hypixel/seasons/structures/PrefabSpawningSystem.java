@@ -3,8 +3,6 @@ package com.hypixel.seasons.structures;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.asset.type.blocktype.config.Rotation;
 import com.hypixel.hytale.server.core.prefab.PrefabRotation;
-import com.hypixel.hytale.server.core.prefab.PrefabStore;
-import com.hypixel.hytale.server.core.prefab.selection.buffer.PrefabBufferUtil;
 import com.hypixel.hytale.server.core.prefab.selection.buffer.impl.IPrefabBuffer;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
@@ -12,7 +10,6 @@ import com.hypixel.hytale.server.core.util.PrefabUtil;
 import com.hypixel.hytale.server.worldgen.chunk.ChunkGenerator;
 import com.hypixel.hytale.server.worldgen.chunk.ZoneBiomeResult;
 
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -136,61 +133,15 @@ public class PrefabSpawningSystem {
         }
     }
 
-    private IPrefabBuffer loadPrefabBuffer(String prefabPath) {
-        if (prefabPath == null || prefabPath.isEmpty()) {
-            return null;
-        }
-
-        try {
-            PrefabStore prefabStore = PrefabStore.get();
-            if (prefabStore == null) {
-                return null;
-            }
-
-            String normalizedPath = prefabPath.replace(".", "/");
-
-            String[] pathFormats = {
-                normalizedPath + ".prefab.json",
-                "Server/Prefabs/" + normalizedPath + ".prefab.json",
-                "structures/" + normalizedPath + ".prefab.json"
-            };
-
-            for (String pathFormat : pathFormats) {
-                Path foundPath = prefabStore.findAssetPrefabPath(pathFormat);
-                if (foundPath != null) {
-                    return PrefabBufferUtil.getCached(foundPath);
-                }
-            }
-
-            System.err.println("[ARCANE SEASONS] Failed to load prefab: " + prefabPath);
-            return null;
-        } catch (Exception e) {
-            System.err.println("[ARCANE SEASONS] Error loading prefab '" + prefabPath + "': " + e.getMessage());
-            return null;
-        }
-    }
-
     private boolean placePrefab(StructureConfiguration config) {
         try {
             if (!world.isInThread()) {
                 System.err.println("[ARCANE SEASONS] Warning: placePrefab called from wrong thread, deferring to world thread");
                 world.execute(() -> {
                     try {
-                        IPrefabBuffer prefab = loadPrefabBuffer(config.getPrefabPath());
-                        if (prefab == null) {
+                        if (!pastePrefab(config)) {
                             System.err.println("[ARCANE SEASONS] Failed to load prefab (deferred): " + config.getPrefabPath());
-                            return;
                         }
-                        Rotation rotation = prefabRotationToRotation(config.getRotation());
-                        PrefabUtil.paste(
-                            prefab,
-                            world,
-                            config.getPosition(),
-                            rotation,
-                            true,
-                            random,
-                            store
-                        );
                     } catch (Exception e) {
                         System.err.println("[ARCANE SEASONS] Error placing prefab (deferred): " + e.getMessage());
                     }
@@ -198,11 +149,25 @@ public class PrefabSpawningSystem {
                 return true;
             }
 
-            IPrefabBuffer prefab = loadPrefabBuffer(config.getPrefabPath());
-            if (prefab == null) {
+            if (!pastePrefab(config)) {
                 System.err.println("[ARCANE SEASONS] Failed to load prefab: " + config.getPrefabPath());
                 return false;
             }
+            return true;
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Error placing prefab: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // false if the prefab couldnt be found, world thread only
+    private boolean pastePrefab(StructureConfiguration config) {
+        PrefabResolutionManager prefabs = PrefabResolutionManager.get();
+        IPrefabBuffer prefab = prefabs.acquire(config.getPrefabPath());
+        if (prefab == null) {
+            return false;
+        }
+        try {
             Rotation rotation = prefabRotationToRotation(config.getRotation());
             PrefabUtil.paste(
                 prefab,
@@ -213,11 +178,10 @@ public class PrefabSpawningSystem {
                 random,
                 store
             );
-            return true;
-        } catch (Exception e) {
-            System.err.println("[ARCANE SEASONS] Error placing prefab: " + e.getMessage());
-            return false;
+        } finally {
+            prefabs.release(config.getPrefabPath(), prefab);
         }
+        return true;
     }
 
     private Rotation prefabRotationToRotation(PrefabRotation prefabRotation) {
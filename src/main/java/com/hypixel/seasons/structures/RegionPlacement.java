@@ -0,0 +1,62 @@
+package com.hypixel.seasons.structures;
+
+import com.hypixel.hytale.server.core.prefab.PrefabRotation;
+import com.hypixel.seasons.util.PositionalRandom;
+
+// spacing / separation placement: the world is cut into square regions of `spacing` blocks and every
+// region gets exactly one candidate spot, hashed from the world seed, the config and the region coords
+// the spot is kept out of the last `separation` blocks of its region so two spots from neighbouring
+// regions are always at least that far apart
+// everything is a pure function of its inputs, so any chunk on any gen thread can work out the same
+// spots without talking to the others, and a chunk only ever looks at regions it overlaps
+public final class RegionPlacement {
+
+  private final int spacing;
+  private final int separation;
+  private final long salt;
+
+  public RegionPlacement(int spacing, int separation, long worldSeed, String structureId) {
+    this.spacing = spacing;
+    this.separation = separation;
+    this.salt = PositionalRandom.salt(worldSeed, structureId);
+  }
+
+  public int getSpacing() {
+    return spacing;
+  }
+
+  public int getSeparation() {
+    return separation;
+  }
+
+  public int regionOf(int block) {
+    return Math.floorDiv(block, spacing);
+  }
+
+  // block x of the one candidate in this region
+  public int candidateX(int regionX, int regionZ) {
+    return regionX * spacing + offset(regionHash(regionX, regionZ));
+  }
+
+  // block z of the one candidate in this region
+  public int candidateZ(int regionX, int regionZ) {
+    return regionZ * spacing + offset(regionHash(regionX, regionZ) >>> 32);
+  }
+
+  // rotation for the candidate, from the same hash so it does not depend on which chunk got there first
+  public PrefabRotation rotation(int regionX, int regionZ) {
+    PrefabRotation[] rotations = PrefabRotation.VALUES;
+    if (rotations == null || rotations.length == 0) return PrefabRotation.ROTATION_0;
+    long h = PositionalRandom.mix(regionHash(regionX, regionZ) ^ 0xD6E8FEB86659FD93L);
+    return rotations[PositionalRandom.nextInt(h, rotations.length)];
+  }
+
+  private int offset(long h) {
+    int range = spacing - separation;
+    return (int) ((h & 0x7FFFFFFFL) % range);
+  }
+
+  private long regionHash(int regionX, int regionZ) {
+    return PositionalRandom.hash(salt, regionX, regionZ);
+  }
+}
@@ -11,18 +11,21 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.events.ChunkPreLoadProcessEvent;
 import com.hypixel.hytale.server.core.universe.world.events.StartWorldEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.seasons.echo.Echo;
 import com.hypixel.seasons.systems.PortalRegistry;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SeasonStructureInitializer {
   private static SeasonStructureInitializer instance;
 
   private final List<StructureConfiguration> configurations;
   private final Map<World, StructureMarkerSystem> markerSystems;
+  private final Map<World, StructureDiscoveryEngine> discoveryEngines;
   private boolean setupComplete;
   private StructureRegistry registry;
   private PrefabResolutionManager prefabManager;
@@ -31,6 +34,7 @@ public class SeasonStructureInitializer {
   private SeasonStructureInitializer() {
     this.configurations = new ArrayList<>();
     this.markerSystems = new HashMap<>();
+    this.discoveryEngines = new ConcurrentHashMap<>();
     this.setupComplete = false;
   }
 
@@ -47,35 +51,61 @@ public class SeasonStructureInitializer {
     }
     setupComplete = true;
 
-    StructureDataResource.initializeResourceType();
     UniquePlacementPersistence.initialize();
 
     this.registry = new StructureRegistry();
-    this.prefabManager = new PrefabResolutionManager();
+    this.prefabManager = PrefabResolutionManager.get();
 
     System.out.println("[ARCANE SEASONS] SeasonStructureInitializer setup complete");
   }
 
   public void registerConfiguration(StructureConfiguration config) {
     configurations.add(config);
+    if (registry != null && isGenerated(config)) {
+      registry.register(config);
+    }
+  }
+
+  public void registerConfigurations(List<StructureConfiguration> configs) {
+    configurations.addAll(configs);
     if (registry != null) {
-      String[] zoneMask = config.getZoneMask();
-      if (zoneMask != null && zoneMask.length > 0) {
-        for (String zone : zoneMask) {
-          registry.register(zone, config);
+      List<StructureConfiguration> generated = new ArrayList<>();
+      for (StructureConfiguration config : configs) {
+        if (isGenerated(config)) {
+          generated.add(config);
         }
       }
+      registry.registerAll(generated);
     }
   }
 
-  public void registerConfigurations(List<StructureConfiguration> configs) {
-    configurations.addAll(configs);
+  // configs without a zone mask are placed by hand (spawning system), not during chunk gen
+  private static boolean isGenerated(StructureConfiguration config) {
+    String[] zoneMask = config.getZoneMask();
+    return zoneMask != null && zoneMask.length > 0;
   }
 
   public List<StructureConfiguration> getConfigurations() {
     return new ArrayList<>(configurations);
   }
 
+  public List<String> getPrefabPaths() {
+    List<String> paths = new ArrayList<>();
+    for (StructureConfiguration config : configurations) {
+      paths.add(config.getPrefabPath());
+    }
+    return paths;
+  }
+
+  // everything worth decoding ahead of time, structure prefabs plus every echo's base prefab
+  public List<String> getWarmUpPaths() {
+    List<String> paths = getPrefabPaths();
+    for (Echo echo : Echo.values()) {
+      paths.add(echo.getPrefabPath());
+    }
+    return paths;
+  }
+
   public void onWorldStart(StartWorldEvent event) {
     World world = event.getWorld();
     EntityStore entityStore = world.getEntityStore();
@@ -87,6 +117,9 @@ public class SeasonStructureInitializer {
 
     System.out.println("[ARCANE SEASONS] Processing world start for: " + world.getName());
 
+    // anything setup couldnt find yet (asset packs still loading) gets another go before chunks generate
+    prefabManager.warmUp(getWarmUpPaths(), "world start " + world.getName());
+
     if (configurations.isEmpty()) {
       System.out.println("[ARCANE SEASONS] No structure configurations registered");
       return;
@@ -137,10 +170,24 @@ public class SeasonStructureInitializer {
       System.out.println("[ARCANE SEASONS] Structures already initialized for world: " + world.getName());
     }
 
+    Map<String, StructureConfiguration> configsById = new HashMap<>();
+    for (StructureConfiguration config : configurations) {
+      configsById.put(config.getId(), config);
+    }
+
+    if (generationIntegration.getWorld() == world) {
+      int seeded = generationIntegration.seedFootprints(resource.getSpawnedStructures(), configsById);
+      System.out.println("[ARCANE SEASONS] Seeded " + seeded + " existing structure footprints for " + world.getName());
+    }
+
     StructureMarkerSystem markerSystem = new StructureMarkerSystem(world, store);
     markerSystem.registerConfigurations(configurations);
     markerSystem.createMarkers(resource.getSpawnedStructures());
     markerSystems.put(world, markerSystem);
+    StructureDiscoveryEngine discoveryEngine = new StructureDiscoveryEngine();
+    discoveryEngine.rebuild(resource.getSpawnedStructures(), configsById);
+    discoveryEngines.put(world, discoveryEngine);
+    System.out.println("[ARCANE SEASONS] Discovery index for " + world.getName() + ": " + discoveryEngine.getIndexedCount() + " structures");
 
     System.out.println("[ARCANE SEASONS] Structure systems initialized for world: " + world.getName());
     System.out.println("[ARCANE SEASONS] [PORTAL] [INIT] Portal registry now contains " + PortalRegistry.getInstance().getPortalCount() + " portals");
@@ -173,8 +220,13 @@ public class SeasonStructureInitializer {
     return generationIntegration;
   }
 
+  public StructureDiscoveryEngine getDiscoveryEngine(World world) {
+    return discoveryEngines.get(world);
+  }
+
   public void cleanup(World world) {
     markerSystems.remove(world);
+    discoveryEngines.remove(world);
   }
 
   private void registerPortalCoordsIfApplicable(StructureDataResource.SpawnedStructure structure,
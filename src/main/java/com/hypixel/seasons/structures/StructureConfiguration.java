@@ -14,8 +14,12 @@ public class StructureConfiguration {
   private final boolean showOnMap;
   private final String[] zoneMask;
   private final String[] biomeMask;
+  private final MaskMatcher zoneMatcher;
+  private final MaskMatcher biomeMatcher;
   private final Object pattern;
   private final boolean unique;
+  private final int spacing;      // region size in blocks, 0 = old per chunk grid
+  private final int separation;   // min blocks between spots of neighbouring regions
 
   private StructureConfiguration(Builder builder) {
     this.id = builder.id;
@@ -28,8 +32,13 @@ public class StructureConfiguration {
     this.showOnMap = builder.showOnMap;
     this.zoneMask = builder.zoneMask;
     this.biomeMask = builder.biomeMask;
+    // compiled here once so chunk gen never has to look at the raw mask strings
+    this.zoneMatcher = MaskMatcher.compile(builder.zoneMask);
+    this.biomeMatcher = MaskMatcher.compile(builder.biomeMask);
     this.pattern = builder.pattern;
     this.unique = builder.unique;
+    this.spacing = builder.spacing;
+    this.separation = builder.separation;
   }
 
   public String getId() {
@@ -72,6 +81,14 @@ public class StructureConfiguration {
     return biomeMask;
   }
 
+  public MaskMatcher getZoneMatcher() {
+    return zoneMatcher;
+  }
+
+  public MaskMatcher getBiomeMatcher() {
+    return biomeMatcher;
+  }
+
   public Object getPattern() {
     return pattern;
   }
@@ -80,6 +97,18 @@ public class StructureConfiguration {
     return unique;
   }
 
+  public int getSpacing() {
+    return spacing;
+  }
+
+  public int getSeparation() {
+    return separation;
+  }
+
+  public boolean usesRegionGrid() {
+    return spacing > 0;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -97,6 +126,8 @@ public class StructureConfiguration {
     private String[] biomeMask = new String[]{"*"};
     private Object pattern = null;
     private boolean unique = false;
+    private int spacing = 0;
+    private int separation = 0;
 
     public Builder id(String id) {
       this.id = id;
@@ -163,10 +194,20 @@ public class StructureConfiguration {
       return this;
     }
 
+    // one spot per spacing x spacing block region, spots at least separation blocks apart
+    public Builder placement(int spacing, int separation) {
+      this.spacing = spacing;
+      this.separation = separation;
+      return this;
+    }
+
     public StructureConfiguration build() {
       if (prefabPath == null || prefabPath.isEmpty()) {
         throw new IllegalStateException("prfab not found");
       }
+      if (spacing < 0 || separation < 0 || (spacing > 0 && separation >= spacing)) {
+        throw new IllegalStateException("separation must be smaller than spacing for " + id);
+      }
       if (displayName == null || displayName.isEmpty()) {
         this.displayName = id;
       }
@@ -1,12 +1,19 @@
 package com.hypixel.seasons.structures;
 
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
 import com.hypixel.hytale.component.Resource;
 import com.hypixel.hytale.component.ResourceType;
 import com.hypixel.hytale.math.vector.Vector3i;
 import com.hypixel.hytale.server.core.prefab.PrefabRotation;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.seasons.SeasonsModule;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -14,13 +21,39 @@ import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+// saved with the world, so a restart knows the hand placed structures are already there and who found what
+// every spawned structure is saved as its own object and discoveries as one entry per player with the
+// ids as a string array, so a bad or missing entry only loses itself
+// in memory a player's discoveries are a bitset over StructureIdTable ordinals. the bitsets are never
+// changed in place and the player map is shared between clones until one of them writes, so clone()
+// doesnt copy anything and a discovery copies one small array (plus the map once after a clone)
 public class StructureDataResource implements Resource<EntityStore> {
-  private static ResourceType<EntityStore, StructureDataResource> RESOURCE_TYPE;
+
+  public static final BuilderCodec<StructureDataResource> CODEC = BuilderCodec
+    .builder(StructureDataResource.class, StructureDataResource::new)
+    .append(new KeyedCodec<>("Initialized", Codec.BOOLEAN),
+      (resource, value) -> resource.initialized = value != null && value,
+      resource -> resource.initialized)
+    .add()
+    .append(new KeyedCodec<>("InitializationTime", Codec.LONG),
+      (resource, value) -> resource.initializationTime = value != null ? value : 0L,
+      resource -> resource.initializationTime)
+    .add()
+    .append(new KeyedCodec<>("SpawnedStructures", new ArrayCodec<>(SpawnedStructure.CODEC, SpawnedStructure[]::new)),
+      (resource, value) -> resource.decodeSpawned(value),
+      resource -> resource.spawnedStructures.toArray(new SpawnedStructure[0]))
+    .add()
+    .append(new KeyedCodec<>("Discoveries", new ArrayCodec<>(PlayerDiscoveries.CODEC, PlayerDiscoveries[]::new)),
+      (resource, value) -> resource.decodeDiscoveries(value),
+      resource -> resource.encodeDiscoveries())
+    .add()
+    .build();
 
   private boolean initialized;
   private long initializationTime;
   private List<SpawnedStructure> spawnedStructures;
-  private Map<UUID, Set<String>> playerDiscoveries;
+  private Map<UUID, long[]> playerDiscoveries;
+  private boolean discoveriesShared;      // playerDiscoveries is also referenced by a clone
 
   public StructureDataResource() {
     this.initialized = false;
@@ -37,10 +70,19 @@ public class StructureDataResource implements Resource<EntityStore> {
     this.spawnedStructures = new ArrayList<>(spawnedStructures);
     this.playerDiscoveries = new HashMap<>();
     for (Map.Entry<UUID, Set<String>> entry : playerDiscoveries.entrySet()) {
-      this.playerDiscoveries.put(entry.getKey(), new HashSet<>(entry.getValue()));
+      this.playerDiscoveries.put(entry.getKey(), toBits(entry.getValue()));
     }
   }
 
+  private StructureDataResource(StructureDataResource source) {
+    this.initialized = source.initialized;
+    this.initializationTime = source.initializationTime;
+    this.spawnedStructures = new ArrayList<>(source.spawnedStructures);
+    this.playerDiscoveries = source.playerDiscoveries;
+    this.discoveriesShared = true;
+    source.discoveriesShared = true;
+  }
+
   public boolean isInitialized() {
     return initialized;
   }
@@ -65,47 +107,218 @@ public class StructureDataResource implements Resource<EntityStore> {
     this.spawnedStructures.add(structure);
   }
 
+  // copy of everything, for debugging and commands, dont call it per tick
   public Map<UUID, Set<String>> getPlayerDiscoveries() {
-    return playerDiscoveries;
+    Map<UUID, Set<String>> copy = new HashMap<>();
+    for (Map.Entry<UUID, long[]> entry : playerDiscoveries.entrySet()) {
+      copy.put(entry.getKey(), toIds(entry.getValue()));
+    }
+    return copy;
   }
 
+  // snapshot of what the player found, empty if nothing, querying doesnt add the player
   public Set<String> getDiscoveriesForPlayer(UUID playerUuid) {
-    return playerDiscoveries.computeIfAbsent(playerUuid, k -> new HashSet<>());
+    long[] bits = playerDiscoveries.get(playerUuid);
+    return bits != null ? toIds(bits) : new HashSet<>();
+  }
+
+  public int getDiscoveryCount(UUID playerUuid) {
+    long[] bits = playerDiscoveries.get(playerUuid);
+    int count = 0;
+    if (bits != null) {
+      for (long word : bits) {
+        count += Long.bitCount(word);
+      }
+    }
+    return count;
   }
 
   public boolean hasPlayerDiscovered(UUID playerUuid, String structureId) {
-    Set<String> discoveries = playerDiscoveries.get(playerUuid);
-    return discoveries != null && discoveries.contains(structureId);
+    int ordinal = StructureIdTable.ordinalOf(structureId);
+    if (ordinal < 0) {
+      return false;
+    }
+    long[] bits = playerDiscoveries.get(playerUuid);
+    return bits != null && hasBit(bits, ordinal);
   }
 
-  public void markDiscovered(UUID playerUuid, String structureId) {
-    getDiscoveriesForPlayer(playerUuid).add(structureId);
+  // true if this is the first time the player found it
+  public boolean markDiscovered(UUID playerUuid, String structureId) {
+    int ordinal = StructureIdTable.intern(structureId);
+    long[] bits = playerDiscoveries.get(playerUuid);
+    if (bits != null && hasBit(bits, ordinal)) {
+      return false;
+    }
+    long[] updated = bits != null && bits.length > (ordinal >>> 6)
+      ? bits.clone()
+      : Arrays.copyOf(bits != null ? bits : new long[0], (ordinal >>> 6) + 1);
+    updated[ordinal >>> 6] |= 1L << ordinal;
+    ownDiscoveries().put(playerUuid, updated);
+    return true;
   }
 
   @Override
   public Resource<EntityStore> clone() {
-    return new StructureDataResource(initialized, initializationTime, spawnedStructures, playerDiscoveries);
+    return new StructureDataResource(this);
   }
 
-  public static void initializeResourceType() {
-    if (RESOURCE_TYPE == null) {
-      RESOURCE_TYPE = new ResourceType<>();
+  // the map to write to, copied first if a clone still points at it
+  private Map<UUID, long[]> ownDiscoveries() {
+    if (discoveriesShared) {
+      playerDiscoveries = new HashMap<>(playerDiscoveries);
+      discoveriesShared = false;
     }
+    return playerDiscoveries;
+  }
+
+  private static boolean hasBit(long[] bits, int ordinal) {
+    int word = ordinal >>> 6;
+    return word < bits.length && (bits[word] & (1L << ordinal)) != 0;
+  }
+
+  private static long[] toBits(Collection<String> ids) {
+    long[] bits = new long[0];
+    for (String id : ids) {
+      int ordinal = StructureIdTable.intern(id);
+      if ((ordinal >>> 6) >= bits.length) {
+        bits = Arrays.copyOf(bits, (ordinal >>> 6) + 1);
+      }
+      bits[ordinal >>> 6] |= 1L << ordinal;
+    }
+    return bits;
+  }
+
+  private static Set<String> toIds(long[] bits) {
+    Set<String> ids = new HashSet<>();
+    for (int word = 0; word < bits.length; word++) {
+      long remaining = bits[word];
+      while (remaining != 0) {
+        String id = StructureIdTable.idAt((word << 6) + Long.numberOfTrailingZeros(remaining));
+        if (id != null) ids.add(id);
+        remaining &= remaining - 1;
+      }
+    }
+    return ids;
   }
 
   public static ResourceType<EntityStore, StructureDataResource> getResourceType() {
-    if (RESOURCE_TYPE == null) {
-      initializeResourceType();
+    return SeasonsModule.getInstance().getStructureDataResourceType();
+  }
+
+  private void decodeSpawned(SpawnedStructure[] decoded) {
+    spawnedStructures = new ArrayList<>();
+    if (decoded == null) return;
+    for (SpawnedStructure structure : decoded) {
+      if (structure != null && structure.configId != null) {
+        spawnedStructures.add(structure);
+      }
+    }
+  }
+
+  private PlayerDiscoveries[] encodeDiscoveries() {
+    PlayerDiscoveries[] encoded = new PlayerDiscoveries[playerDiscoveries.size()];
+    int i = 0;
+    for (Map.Entry<UUID, long[]> entry : playerDiscoveries.entrySet()) {
+      Set<String> ids = toIds(entry.getValue());
+      encoded[i++] = new PlayerDiscoveries(entry.getKey().toString(), ids.toArray(new String[0]));
+    }
+    return encoded;
+  }
+
+  private void decodeDiscoveries(PlayerDiscoveries[] decoded) {
+    playerDiscoveries = new HashMap<>();
+    discoveriesShared = false;
+    if (decoded == null) return;
+    for (PlayerDiscoveries entry : decoded) {
+      if (entry == null || entry.player == null) continue;
+      UUID player;
+      try {
+        player = UUID.fromString(entry.player);
+      } catch (IllegalArgumentException e) {
+        System.err.println("[ARCANE SEASONS] StructureDataResource: skipping bad player id " + entry.player);
+        continue;
+      }
+      List<String> ids = new ArrayList<>();
+      if (entry.structures != null) {
+        for (String id : entry.structures) {
+          if (id != null && !id.isEmpty()) ids.add(id);
+        }
+      }
+      playerDiscoveries.put(player, toBits(ids));
+    }
+  }
+
+  // one player's discoveries as saved, only used by the codec
+  static final class PlayerDiscoveries {
+    static final BuilderCodec<PlayerDiscoveries> CODEC = BuilderCodec
+      .builder(PlayerDiscoveries.class, PlayerDiscoveries::new)
+      .append(new KeyedCodec<>("Player", Codec.STRING),
+        (entry, value) -> entry.player = value,
+        entry -> entry.player)
+      .add()
+      .append(new KeyedCodec<>("Structures", Codec.STRING_ARRAY),
+        (entry, value) -> entry.structures = value,
+        entry -> entry.structures)
+      .add()
+      .build();
+
+    private String player;
+    private String[] structures;
+
+    private PlayerDiscoveries() {
+    }
+
+    PlayerDiscoveries(String player, String[] structures) {
+      this.player = player;
+      this.structures = structures;
     }
-    return RESOURCE_TYPE;
   }
 
   public static class SpawnedStructure {
-    private final String configId;
-    private final Vector3i position;
-    private final PrefabRotation rotation;
-    private final long spawnTime;
-    private final String uniqueMarkerId;
+    // rotation by name, position as plain ints
+    public static final BuilderCodec<SpawnedStructure> CODEC = BuilderCodec
+      .builder(SpawnedStructure.class, SpawnedStructure::new)
+      .append(new KeyedCodec<>("ConfigId", Codec.STRING),
+        (structure, value) -> structure.configId = value,
+        structure -> structure.configId)
+      .add()
+      .append(new KeyedCodec<>("X", Codec.INTEGER),
+        (structure, value) -> structure.position.x = value != null ? value : 0,
+        structure -> structure.position != null ? structure.position.getX() : 0)
+      .add()
+      .append(new KeyedCodec<>("Y", Codec.INTEGER),
+        (structure, value) -> structure.position.y = value != null ? value : 0,
+        structure -> structure.position != null ? structure.position.getY() : 0)
+      .add()
+      .append(new KeyedCodec<>("Z", Codec.INTEGER),
+        (structure, value) -> structure.position.z = value != null ? value : 0,
+        structure -> structure.position != null ? structure.position.getZ() : 0)
+      .add()
+      .append(new KeyedCodec<>("Rotation", Codec.STRING),
+        (structure, value) -> structure.rotation = parseRotation(value),
+        structure -> structure.rotation != null ? structure.rotation.name() : PrefabRotation.ROTATION_0.name())
+      .add()
+      .append(new KeyedCodec<>("SpawnTime", Codec.LONG),
+        (structure, value) -> structure.spawnTime = value != null ? value : 0L,
+        structure -> structure.spawnTime)
+      .add()
+      .append(new KeyedCodec<>("MarkerId", Codec.STRING),
+        (structure, value) -> structure.uniqueMarkerId = value,
+        structure -> structure.uniqueMarkerId)
+      .add()
+      .build();
+
+    private String configId;
+    private Vector3i position;
+    private PrefabRotation rotation;
+    private long spawnTime;
+    private String uniqueMarkerId;
+
+    // for the codec, fields come in one at a time
+    private SpawnedStructure() {
+      this.position = new Vector3i(0, 0, 0);
+      this.rotation = PrefabRotation.ROTATION_0;
+    }
 
     public SpawnedStructure(String configId, Vector3i position, PrefabRotation rotation, long spawnTime) {
       this.configId = configId;
@@ -141,7 +354,16 @@ public class StructureDataResource implements Resource<EntityStore> {
     }
 
     public String getUniqueMarkerId() {
-      return uniqueMarkerId;
+      return uniqueMarkerId != null ? uniqueMarkerId : "structure_" + configId + "_" + spawnTime;
+    }
+
+    private static PrefabRotation parseRotation(String name) {
+      if (name != null) {
+        for (PrefabRotation rotation : PrefabRotation.values()) {
+          if (rotation.name().equals(name)) return rotation;
+        }
+      }
+      return PrefabRotation.ROTATION_0;
     }
   }
 }
@@ -0,0 +1,246 @@
+package com.hypixel.seasons.structures;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.vector.Vector3i;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// works out which spawned structures a player has walked into the discovery radius of, for one world
+// every structure is filed under each chunk its discovery circle touches, so a player only ever looks
+// at the few structures bucketed under their own chunk, and only when they step into a new chunk
+// structures in the bucket that are still out of reach (or not discovered yet) stay on a short per
+// player watch list and get the exact distance check while the player stays in that chunk; nearly
+// every chunk has none, so a player walking around costs a map lookup per border crossing
+// discoveries are queued and written into StructureDataResource in one go, at most once a second
+// structures pasted during play get added one at a time, only the buckets their circle touches are replaced
+// players that stop showing up (left, changed world) are swept out after a minute, same as the tint frontier
+public class StructureDiscoveryEngine {
+
+  private static final int DEFAULT_RADIUS = 50;
+  private static final long FLUSH_INTERVAL_MS = 1000;
+  private static final long STALE_AFTER_MS = 60_000;
+  private static final long SWEEP_INTERVAL_MS = 30_000;
+
+  private static final class Entry {
+    final String structureId;
+    final int x;
+    final int z;
+    final int radius;
+    final long radiusSq;
+
+    Entry(String structureId, int x, int z, int radius) {
+      this.structureId = structureId;
+      this.x = x;
+      this.z = z;
+      this.radius = radius;
+      this.radiusSq = (long) radius * radius;
+    }
+  }
+
+  private static final class Tracked {
+    long chunkIndex;
+    long gridVersion = -1;
+    long lastSeen;
+    List<Entry> watching = new ArrayList<>();
+  }
+
+  public static final class Discovery {
+    public final UUID playerId;
+    public final String structureId;
+
+    Discovery(UUID playerId, String structureId) {
+      this.playerId = playerId;
+      this.structureId = structureId;
+    }
+  }
+
+  // a bucket list is never changed once its in the grid, rebuild swaps the whole map and add swaps
+  // in new lists for the buckets it touches, so readers never see a list being written
+  private volatile Map<Long, List<Entry>> grid = new ConcurrentHashMap<>();
+  private volatile long gridVersion;
+  private final List<Entry> entries = new ArrayList<>();    // guarded by this
+  private final Map<String, Integer> radiusById = new HashMap<>();    // guarded by this
+
+  private final Map<UUID, Tracked> tracked = new ConcurrentHashMap<>();
+  private volatile long lastSweep;
+  private final List<Discovery> pending = new ArrayList<>();    // guarded by pending
+  private long lastFlushMillis;    // guarded by pending
+
+  private volatile long discoveredCount;
+  private volatile long crossings;
+
+  // replaces the index with these structures, radius per config id (missing ones get the default)
+  public void rebuild(Collection<StructureDataResource.SpawnedStructure> spawned,
+    Map<String, StructureConfiguration> configsById) {
+    synchronized (this) {
+      radiusById.clear();
+      for (StructureConfiguration config : configsById.values()) {
+        radiusById.put(config.getId(), config.getDiscoveryRadius());
+      }
+      entries.clear();
+      for (StructureDataResource.SpawnedStructure structure : spawned) {
+        Entry entry = toEntry(structure);
+        if (entry != null) entries.add(entry);
+      }
+      publish();
+    }
+  }
+
+  // a structure that got pasted after the index was built, radius from the configs rebuild was given
+  public void add(StructureDataResource.SpawnedStructure structure) {
+    synchronized (this) {
+      Entry entry = toEntry(structure);
+      if (entry == null) return;
+      entries.add(entry);
+
+      Map<Long, List<Entry>> current = grid;
+      int minChunkX = (entry.x - entry.radius) >> 5;
+      int maxChunkX = (entry.x + entry.radius) >> 5;
+      int minChunkZ = (entry.z - entry.radius) >> 5;
+      int maxChunkZ = (entry.z + entry.radius) >> 5;
+      for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+        for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+          long key = ChunkUtil.indexChunk(cx, cz);
+          List<Entry> old = current.get(key);
+          List<Entry> next = old != null ? new ArrayList<>(old.size() + 1) : new ArrayList<>(1);
+          if (old != null) next.addAll(old);
+          next.add(entry);
+          current.put(key, next);
+        }
+      }
+      // players standing in one of those chunks pick the new list up on their next update
+      gridVersion++;
+    }
+  }
+
+  // player position update, data is only read to skip what the player already found
+  public void onPlayerPosition(UUID playerId, int blockX, int blockZ, StructureDataResource data) {
+    long chunkIndex = ChunkUtil.indexChunk(blockX >> 5, blockZ >> 5);
+    long version = gridVersion;
+    long now = System.currentTimeMillis();
+    sweepIfDue(now);
+
+    Tracked entry = tracked.get(playerId);
+    if (entry == null) {
+      entry = new Tracked();
+      tracked.put(playerId, entry);
+    }
+    entry.lastSeen = now;
+
+    if (entry.chunkIndex != chunkIndex || entry.gridVersion != version) {
+      // new chunk (or new index), swap the watch list for what is bucketed here
+      crossings++;
+      entry.chunkIndex = chunkIndex;
+      entry.gridVersion = version;
+      entry.watching.clear();
+      List<Entry> bucket = grid.get(chunkIndex);
+      if (bucket != null) {
+        for (Entry candidate : bucket) {
+          if (data == null || !data.hasPlayerDiscovered(playerId, candidate.structureId)) {
+            entry.watching.add(candidate);
+          }
+        }
+      }
+    }
+
+    if (entry.watching.isEmpty()) return;
+
+    for (int i = entry.watching.size() - 1; i >= 0; i--) {
+      Entry candidate = entry.watching.get(i);
+      long dx = blockX - candidate.x;
+      long dz = blockZ - candidate.z;
+      if (dx * dx + dz * dz <= candidate.radiusSq) {
+        entry.watching.remove(i);
+        synchronized (pending) {
+          pending.add(new Discovery(playerId, candidate.structureId));
+        }
+      }
+    }
+  }
+
+  private void sweepIfDue(long now) {
+    if (now - lastSweep < SWEEP_INTERVAL_MS) {
+      return;
+    }
+    lastSweep = now;
+    tracked.values().removeIf(entry -> now - entry.lastSeen > STALE_AFTER_MS);
+  }
+
+  public boolean hasPending() {
+    synchronized (pending) {
+      return !pending.isEmpty();
+    }
+  }
+
+  // writes the queued discoveries into data if the last batch is old enough, returns the ones that were new
+  public List<Discovery> flushIfDue(StructureDataResource data, long nowMillis) {
+    List<Discovery> batch;
+    synchronized (pending) {
+      if (pending.isEmpty() || nowMillis - lastFlushMillis < FLUSH_INTERVAL_MS) return List.of();
+      lastFlushMillis = nowMillis;
+      batch = new ArrayList<>(pending);
+      pending.clear();
+    }
+
+    List<Discovery> fresh = new ArrayList<>(batch.size());
+    for (Discovery discovery : batch) {
+      if (data.markDiscovered(discovery.playerId, discovery.structureId)) {
+        fresh.add(discovery);
+      }
+    }
+    discoveredCount += fresh.size();
+    return fresh;
+  }
+
+  public int getIndexedCount() {
+    synchronized (this) {
+      return entries.size();
+    }
+  }
+
+  public int getTrackedPlayerCount() {
+    return tracked.size();
+  }
+
+  public long getDiscoveredCount() {
+    return discoveredCount;
+  }
+
+  public long getChunkCrossings() {
+    return crossings;
+  }
+
+  // caller holds this
+  private Entry toEntry(StructureDataResource.SpawnedStructure structure) {
+    Vector3i position = structure.getPosition();
+    if (position == null || structure.getConfigId() == null) return null;
+    Integer configured = radiusById.get(structure.getConfigId());
+    int radius = configured != null ? configured : DEFAULT_RADIUS;
+    if (radius <= 0) return null;
+    return new Entry(structure.getConfigId(), position.getX(), position.getZ(), radius);
+  }
+
+  // caller holds this
+  private void publish() {
+    Map<Long, List<Entry>> next = new ConcurrentHashMap<>();
+    for (Entry entry : entries) {
+      int minChunkX = (entry.x - entry.radius) >> 5;
+      int maxChunkX = (entry.x + entry.radius) >> 5;
+      int minChunkZ = (entry.z - entry.radius) >> 5;
+      int maxChunkZ = (entry.z + entry.radius) >> 5;
+      for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+        for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+          next.computeIfAbsent(ChunkUtil.indexChunk(cx, cz), k -> new ArrayList<>(2)).add(entry);
+        }
+      }
+    }
+    grid = next;
+    gridVersion++;
+  }
+}
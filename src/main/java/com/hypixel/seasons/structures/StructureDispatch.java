@@ -0,0 +1,139 @@
+package com.hypixel.seasons.structures;
+
+import com.hypixel.seasons.util.NameIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// read only view of the registered structures, built by StructureRegistry whenever something gets
+// registered and swapped in whole, so chunk gen threads can use it without locking or copying
+// configs are deduped and grouped by the zones they name, so a chunk only walks the configs
+// that could possibly match the zones it actually has
+public final class StructureDispatch {
+
+  static final StructureDispatch EMPTY = new StructureDispatch(0, Collections.emptyList());
+
+  private static final StructureConfiguration[] NONE = new StructureConfiguration[0];
+
+  private final long version;
+  private final List<StructureConfiguration> all;
+  private final StructureConfiguration[] positioned;   // fixed position, only their own chunk cares
+  private final StructureConfiguration[] anyZone;      // glob zone masks, could match anywhere
+  private final NameIndex<StructureConfiguration[]> byZone;   // exact zone -> its configs + anyZone
+
+  StructureDispatch(long version, List<StructureConfiguration> configs) {
+    this.version = version;
+
+    // same config registered under several zones (or twice) only counts once
+    Map<StructureConfiguration, Boolean> seen = new IdentityHashMap<>();
+    List<StructureConfiguration> deduped = new ArrayList<>();
+    for (StructureConfiguration config : configs) {
+      if (config != null && seen.put(config, Boolean.TRUE) == null) {
+        deduped.add(config);
+      }
+    }
+    this.all = Collections.unmodifiableList(deduped);
+
+    List<StructureConfiguration> positionedList = new ArrayList<>();
+    List<StructureConfiguration> anyZoneList = new ArrayList<>();
+    Map<String, List<StructureConfiguration>> exactLists = new LinkedHashMap<>();
+
+    for (StructureConfiguration config : deduped) {
+      if (config.getPosition() != null) {
+        positionedList.add(config);
+        continue;
+      }
+
+      String[] zoneMask = config.getZoneMask();
+      if (config.getZoneMatcher().matchesAll() || hasWildcard(zoneMask)) {
+        anyZoneList.add(config);
+        continue;
+      }
+      for (String zone : zoneMask) {
+        if (zone == null) continue;
+        List<StructureConfiguration> list = exactLists.computeIfAbsent(zone.toLowerCase(), k -> new ArrayList<>());
+        if (!list.contains(config)) {
+          list.add(config);
+        }
+      }
+    }
+
+    this.positioned = positionedList.toArray(NONE);
+    this.anyZone = anyZoneList.toArray(NONE);
+    this.byZone = new NameIndex<>(Math.max(1, exactLists.size()));
+    for (Map.Entry<String, List<StructureConfiguration>> entry : exactLists.entrySet()) {
+      List<StructureConfiguration> merged = new ArrayList<>(entry.getValue());
+      merged.addAll(anyZoneList);
+      byZone.put(entry.getKey(), merged.toArray(NONE));
+    }
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public boolean isEmpty() {
+    return all.isEmpty();
+  }
+
+  // every registered config once
+  public List<StructureConfiguration> getAll() {
+    return all;
+  }
+
+  // the non positioned configs worth checking in a chunk with this zone, never null
+  public StructureConfiguration[] forZone(String zoneName) {
+    StructureConfiguration[] configs = zoneName != null ? byZone.get(zoneName) : null;
+    return configs != null ? configs : anyZone;
+  }
+
+  // fixed position configs whose position falls inside these block bounds
+  public List<StructureConfiguration> positionedIn(int minX, int maxX, int minZ, int maxZ) {
+    List<StructureConfiguration> inside = null;
+    for (StructureConfiguration config : positioned) {
+      int x = config.getPosition().x;
+      int z = config.getPosition().z;
+      if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) {
+        if (inside == null) inside = new ArrayList<>(2);
+        inside.add(config);
+      }
+    }
+    return inside != null ? inside : Collections.emptyList();
+  }
+
+  // configs to try for a chunk that spans several zones, each one at most once
+  public StructureConfiguration[] forZones(String[] zoneNames, int count) {
+    if (count <= 1) {
+      return forZone(count == 1 ? zoneNames[0] : null);
+    }
+
+    Map<StructureConfiguration, Boolean> seen = new IdentityHashMap<>();
+    List<StructureConfiguration> merged = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      for (StructureConfiguration config : forZone(zoneNames[i])) {
+        if (seen.put(config, Boolean.TRUE) == null) {
+          merged.add(config);
+        }
+      }
+    }
+    return merged.toArray(NONE);
+  }
+
+  private static boolean hasWildcard(String[] masks) {
+    if (masks == null || masks.length == 0) return true;
+    for (String mask : masks) {
+      if (mask != null && mask.indexOf('*') >= 0) return true;
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    return "StructureDispatch{version=" + version + ", configs=" + all.size() +
+      ", positioned=" + positioned.length + ", anyZone=" + anyZone.length + "}";
+  }
+}
@@ -0,0 +1,52 @@
+package com.hypixel.seasons.structures;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// structure ids interned to small dense ordinals, so per player discovery sets can be bitsets
+// ordinals are handed out in first come order and only live for this process, anything saved to
+// disk keeps using the id strings
+public final class StructureIdTable {
+
+  private static final Map<String, Integer> ORDINALS = new ConcurrentHashMap<>();
+  private static volatile String[] ids = new String[0];
+
+  private StructureIdTable() {
+  }
+
+  // ordinal for the id, a new one if the id hasnt been seen yet
+  public static int intern(String id) {
+    Integer ordinal = ORDINALS.get(id);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    synchronized (StructureIdTable.class) {
+      ordinal = ORDINALS.get(id);
+      if (ordinal != null) {
+        return ordinal;
+      }
+      String[] current = ids;
+      String[] grown = Arrays.copyOf(current, current.length + 1);
+      grown[current.length] = id;
+      ids = grown;
+      ORDINALS.put(id, current.length);
+      return current.length;
+    }
+  }
+
+  // -1 if the id was never interned, lookups never grow the table
+  public static int ordinalOf(String id) {
+    Integer ordinal = id != null ? ORDINALS.get(id) : null;
+    return ordinal != null ? ordinal : -1;
+  }
+
+  public static String idAt(int ordinal) {
+    String[] current = ids;
+    return ordinal >= 0 && ordinal < current.length ? current[ordinal] : null;
+  }
+
+  public static int size() {
+    return ids.length;
+  }
+}
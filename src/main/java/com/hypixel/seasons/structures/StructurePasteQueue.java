@@ -0,0 +1,347 @@
+package com.hypixel.seasons.structures;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.math.vector.Transform;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.seasons.systems.WorldTickPump;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// structure pastes for one world, run on the world thread a few per tick instead of all at once
+// chunk gen can accept dozens of structures in one burst (fast travel, big view distance), and a full
+// prefab paste each is a lot for a single tick. jobs wait here and every tick we paste the most
+// important ones until the time budget is gone: uniques first, then whatever is closest to a player
+// a job whose chunk got unloaded before its turn is cancelled, its space and reservation given back
+// on top of the budget a job waits for its footprint: a paste writes every chunk its box touches and
+// loads whichever of those arent in memory, so the job is parked under the missing chunk until that
+// chunk loads. big structures then get pasted once the player has actually walked up to them instead
+// of dragging a ring of chunks in from the edge of the view distance
+// each job is still one whole PrefabUtil.paste. one that ran out of patience waiting is pasted anyway,
+// at most one of those per tick so a backlog of them cant pile into the same tick
+public class StructurePasteQueue {
+
+  public static final long DEFAULT_BUDGET_NANOS = 8_000_000L;     // 8ms of a 50ms tick
+
+  // a fresh chunk might not be in memory yet when its job is first looked at, give it a moment
+  private static final int UNLOAD_GRACE_TICKS = 40;
+
+  // parked jobs get looked at again this often even without a load event for their chunk
+  private static final int PARKED_RECHECK_TICKS = 20;
+
+  // after this long waiting for the rest of its footprint a job pastes anyway, loading what it needs
+  private static final int PARK_PATIENCE_TICKS = 600;
+
+  private final World world;
+  private final WorldTickPump pump;
+  private final List<PasteJob> pending = new ArrayList<>();
+  private final Map<Long, List<PasteJob>> parkedByChunk = new HashMap<>();   // guarded by pending
+  private int parkedCount;
+
+  // player chunk positions for this tick's ranking, reused
+  private int[] viewerChunks = new int[16];
+  private int viewerCount;
+
+  private volatile long budgetNanos = DEFAULT_BUDGET_NANOS;
+  private long tick;
+  private long sequence;
+
+  // running totals, only for debugging / the season command
+  private volatile long pastedCount;
+  private volatile long cancelledCount;
+  private volatile long deferredTicks;       // ticks that ran out of budget with work left
+  private volatile int peakPending;
+  private volatile long lastTickNanos;
+  private volatile long forcedCount;          // pasted before the whole footprint was loaded
+
+  public StructurePasteQueue(World world) {
+    this.world = world;
+    this.pump = new WorldTickPump(world, "structure pastes", this::drain);
+  }
+
+  // one queued paste, paste runs on the world thread, cancel when it will never run
+  public static final class PasteJob {
+    final String structureId;
+    final long chunkIndex;
+    final int x;
+    final int z;
+    final int minChunkX;
+    final int minChunkZ;
+    final int maxChunkX;
+    final int maxChunkZ;
+    final boolean unique;
+    final Runnable paste;
+    final Runnable cancel;
+    final Runnable keepAlive;
+    long submittedTick;
+    long missingChunk;
+    long order;
+    long rank;
+
+    // footprint may be null, the job then only waits for the anchor chunk
+    public PasteJob(String structureId, int x, int z, FootprintIndex.Footprint footprint, boolean unique,
+      Runnable paste, Runnable cancel) {
+      this(structureId, x, z, footprint, unique, paste, cancel, null);
+    }
+
+    // keepAlive runs every time the queue looks at the job while it waits (a lease renewal), may be null
+    public PasteJob(String structureId, int x, int z, FootprintIndex.Footprint footprint, boolean unique,
+      Runnable paste, Runnable cancel, Runnable keepAlive) {
+      this.structureId = structureId;
+      this.chunkIndex = ChunkUtil.indexChunk(x >> 5, z >> 5);
+      this.x = x;
+      this.z = z;
+      this.minChunkX = footprint != null ? footprint.minX >> 5 : x >> 5;
+      this.minChunkZ = footprint != null ? footprint.minZ >> 5 : z >> 5;
+      this.maxChunkX = footprint != null ? footprint.maxX >> 5 : x >> 5;
+      this.maxChunkZ = footprint != null ? footprint.maxZ >> 5 : z >> 5;
+      this.unique = unique;
+      this.paste = paste;
+      this.cancel = cancel;
+      this.keepAlive = keepAlive;
+    }
+  }
+
+  // safe from any thread, the job runs on one of the next ticks
+  public void submit(PasteJob job) {
+    synchronized (pending) {
+      job.submittedTick = tick;
+      job.order = sequence++;
+      pending.add(job);
+      if (pending.size() > peakPending) {
+        peakPending = pending.size();
+      }
+    }
+    pump.wake();
+  }
+
+  // a chunk of this world just loaded, jobs that were only waiting on it go back in line
+  public void onChunkLoaded(long chunkIndex) {
+    boolean woke = false;
+    synchronized (pending) {
+      List<PasteJob> jobs = parkedByChunk.remove(chunkIndex);
+      if (jobs != null) {
+        parkedCount -= jobs.size();
+        pending.addAll(jobs);
+        woke = true;
+      }
+    }
+    if (woke) {
+      pump.wake();
+    }
+  }
+
+  public void setBudgetNanos(long budgetNanos) {
+    this.budgetNanos = Math.max(0, budgetNanos);
+  }
+
+  public long getBudgetNanos() {
+    return budgetNanos;
+  }
+
+  public int getPendingCount() {
+    synchronized (pending) {
+      return pending.size();
+    }
+  }
+
+  public int getParkedCount() {
+    synchronized (pending) {
+      return parkedCount;
+    }
+  }
+
+  public long getForcedCount() {
+    return forcedCount;
+  }
+
+  public long getPastedCount() {
+    return pastedCount;
+  }
+
+  public long getCancelledCount() {
+    return cancelledCount;
+  }
+
+  public long getDeferredTicks() {
+    return deferredTicks;
+  }
+
+  public int getPeakPending() {
+    return peakPending;
+  }
+
+  public long getLastTickNanos() {
+    return lastTickNanos;
+  }
+
+  // one tick of pasting on the world thread, true if jobs are left for the next tick
+  private boolean drain() {
+    long start = System.nanoTime();
+    List<PasteJob> batch;
+    synchronized (pending) {
+      tick++;
+      if (tick % PARKED_RECHECK_TICKS == 0) {
+        unparkAll();
+      }
+      if (pending.isEmpty()) {
+        return parkedCount > 0;
+      }
+      batch = new ArrayList<>(pending);
+      pending.clear();
+    }
+
+    gatherViewers();
+    for (PasteJob job : batch) {
+      job.rank = rank(job);
+      keepAlive(job);
+    }
+    batch.sort((a, b) -> a.rank != b.rank ? Long.compare(a.rank, b.rank) : Long.compare(a.order, b.order));
+
+    List<PasteJob> waiting = new ArrayList<>();
+    List<PasteJob> parked = new ArrayList<>();
+    int pasted = 0;
+    boolean forcedThisTick = false;
+    int i = 0;
+    for (; i < batch.size(); i++) {
+      // at least one paste per tick so a tiny budget never stalls the queue
+      if (pasted > 0 && System.nanoTime() - start >= budgetNanos) break;
+
+      PasteJob job = batch.get(i);
+      if (world.getChunkIfInMemory(job.chunkIndex) == null) {
+        if (tick - job.submittedTick > UNLOAD_GRACE_TICKS) {
+          cancel(job);
+        } else {
+          waiting.add(job);
+        }
+        continue;
+      }
+
+      if (!footprintLoaded(job)) {
+        if (tick - job.submittedTick <= PARK_PATIENCE_TICKS) {
+          parked.add(job);
+          continue;
+        }
+        if (forcedThisTick) {
+          waiting.add(job);
+          continue;
+        }
+        forcedThisTick = true;
+        forcedCount++;
+      }
+
+      try {
+        job.paste.run();
+      } catch (Exception e) {
+        System.err.println("[ARCANE SEASONS] Structure paste failed for " + job.structureId + ": " + e.getMessage());
+      }
+      pasted++;
+    }
+
+    for (; i < batch.size(); i++) {
+      waiting.add(batch.get(i));
+    }
+    pastedCount += pasted;
+    lastTickNanos = System.nanoTime() - start;
+
+    synchronized (pending) {
+      pending.addAll(waiting);
+      for (PasteJob job : parked) {
+        park(job);
+      }
+      if (pending.isEmpty()) {
+        return parkedCount > 0;
+      }
+    }
+    if (pasted > 0 && !waiting.isEmpty()) {
+      deferredTicks++;
+    }
+    return true;
+  }
+
+  // true when every chunk the footprint touches is loaded, otherwise job.missingChunk says which isnt
+  private boolean footprintLoaded(PasteJob job) {
+    for (int cx = job.minChunkX; cx <= job.maxChunkX; cx++) {
+      for (int cz = job.minChunkZ; cz <= job.maxChunkZ; cz++) {
+        long index = ChunkUtil.indexChunk(cx, cz);
+        if (index != job.chunkIndex && world.getChunkIfInMemory(index) == null) {
+          job.missingChunk = index;
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  // caller holds the pending lock
+  private void park(PasteJob job) {
+    parkedByChunk.computeIfAbsent(job.missingChunk, k -> new ArrayList<>()).add(job);
+    parkedCount++;
+  }
+
+  // caller holds the pending lock
+  private void unparkAll() {
+    for (List<PasteJob> jobs : parkedByChunk.values()) {
+      pending.addAll(jobs);
+    }
+    parkedByChunk.clear();
+    parkedCount = 0;
+  }
+
+  private void keepAlive(PasteJob job) {
+    if (job.keepAlive == null) return;
+    try {
+      job.keepAlive.run();
+    } catch (Exception e) {
+      System.err.println("[ARCANE SEASONS] Error keeping paste of " + job.structureId + " alive: " + e.getMessage());
+    }
+  }
+
+  private void cancel(PasteJob job) {
+    cancelledCount++;
+    try {
+      job.cancel.run();
+    } catch (Exception e) {
+      System.err.println("[ARCANE SEASONS] Error cancelling paste of " + job.structureId + ": " + e.getMessage());
+    }
+  }
+
+  // smaller goes first: uniques always ahead, then chunk distance to the nearest player
+  private long rank(PasteJob job) {
+    long nearest = Integer.MAX_VALUE;
+    int chunkX = job.x >> 5;
+    int chunkZ = job.z >> 5;
+    for (int v = 0; v < viewerCount; v++) {
+      long dx = chunkX - viewerChunks[v * 2];
+      long dz = chunkZ - viewerChunks[v * 2 + 1];
+      nearest = Math.min(nearest, dx * dx + dz * dz);
+    }
+    return job.unique ? nearest : nearest + (1L << 40);
+  }
+
+  private void gatherViewers() {
+    viewerCount = 0;
+    Collection<PlayerRef> players = world.getPlayerRefs();
+    if (players == null) return;
+
+    for (PlayerRef playerRef : players) {
+      Transform transform = playerRef.getTransform();
+      Vector3d position = transform != null ? transform.getPosition() : null;
+      if (position == null) continue;
+
+      if ((viewerCount + 1) * 2 > viewerChunks.length) {
+        viewerChunks = Arrays.copyOf(viewerChunks, viewerChunks.length * 2);
+      }
+      viewerChunks[viewerCount * 2] = MathUtil.floor(position.getX()) >> 5;
+      viewerChunks[viewerCount * 2 + 1] = MathUtil.floor(position.getZ()) >> 5;
+      viewerCount++;
+    }
+  }
+}
@@ -3,9 +3,11 @@ package com.hypixel.seasons.structures;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
+// structure data lives in the world's entity store and is saved with it through StructureDataResource.CODEC
+// if the store isnt usable yet the data is only kept here, for this world, until the next save gets through
 public class StructurePersistenceManager {
   private final Store<EntityStore> store;
-  private static StructureDataResource localFallback = null;
+  private StructureDataResource localFallback = null;
 
   public StructurePersistenceManager(Store<EntityStore> store) {
     this.store = store;
@@ -2,26 +2,53 @@ package com.hypixel.seasons.structures;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+// everything registered lives in one immutable StructureDispatch snapshot
+// registering rebuilds the snapshot and swaps it in, readers just grab the current one
+// so chunk gen never copies the registry or takes a lock
 public class StructureRegistry {
-    private volatile Map<String, List<StructureConfiguration>> zoneRegistry = new ConcurrentHashMap<>();
+    private final List<StructureConfiguration> registered = new ArrayList<>();
+    private volatile StructureDispatch dispatch = StructureDispatch.EMPTY;
 
+    public void register(StructureConfiguration config) {
+        if (config == null) {
+            return;
+        }
+        synchronized (registered) {
+            registered.add(config);
+            rebuild();
+        }
+    }
+
+    public void registerAll(List<StructureConfiguration> configs) {
+        if (configs == null || configs.isEmpty()) {
+            return;
+        }
+        synchronized (registered) {
+            registered.addAll(configs);
+            rebuild();
+        }
+    }
+
+    // the zone no longer matters here, the config's own zone mask decides where it goes
     public void register(String zone, StructureConfiguration config) {
-        zoneRegistry.computeIfAbsent(zone, k -> new ArrayList<>()).add(config);
+        register(config);
+    }
+
+    public StructureDispatch getDispatch() {
+        return dispatch;
     }
 
     public List<StructureConfiguration> getStructuresForZone(String zone) {
-        List<StructureConfiguration> configs = zoneRegistry.get(zone);
-        return configs != null ? new ArrayList<>(configs) : List.of();
+        return List.of(dispatch.forZone(zone));
     }
 
     public List<StructureConfiguration> getAllStructures() {
-        List<StructureConfiguration> all = new ArrayList<>();
-        for (List<StructureConfiguration> zoneConfigs : zoneRegistry.values()) {
-            all.addAll(zoneConfigs);
-        }
-        return all;
+        return dispatch.getAll();
+    }
+
+    private void rebuild() {
+        StructureDispatch previous = dispatch;
+        dispatch = new StructureDispatch(previous.getVersion() + 1, registered);
     }
 }
@@ -6,130 +6,442 @@ import com.google.gson.reflect.TypeToken;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+// remembers which unique structures a world already has, one store per world
+// marking a placement only touches memory, a background flusher appends the ids to a per world journal
+// (one id per line, fsync'd per batch) and every so often folds journal into a snapshot that gets
+// written to a temp file and renamed over the old one, so a crash at any point leaves either the old
+// or the new snapshot plus a journal that replays on top of it
+// the old global unique_placements.json gets adopted by the first world that has no store of its own
+// before a unique gets pasted its chunk takes a lease on it: a token handed out with a CAS on this world's
+// table that runs out after a while, so a paste that never happens (chunk unloaded, world stopped)
+// cant block that structure forever. a reaper clears expired leases in the background
+// lease time is wall clock milliseconds, not world ticks, so a holder that is still waiting (a paste
+// parked in the queue on a slow server) keeps renewing its lease instead of relying on the length alone
 public class UniquePlacementPersistence {
   private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
   private static final Type SET_TYPE = new TypeToken<HashSet<String>>(){}.getType();
   private static final Path BASE_PATH = Paths.get("config", "seasons", "structures");
+  private static final Path LEGACY_FILE = BASE_PATH.resolve("unique_placements.json");
 
-  private static volatile UniquePlacementPersistence instance;
-  private static final Object INSTANCE_LOCK = new Object();
+  private static final String SNAPSHOT_FILE = "unique_placements.snapshot.json";
+  private static final String JOURNAL_FILE = "unique_placements.journal";
 
-  private final Path filePath;
+  private static final long FLUSH_INTERVAL_MILLIS = 1000;
+  private static final int COMPACT_AFTER_ENTRIES = 64;
+
+  // a minute of wall clock time, only a holder that stops renewing runs out
+  public static final long LEASE_MILLIS = 60_000;
+  private static final long REAP_INTERVAL_MILLIS = 5000;
+
+  private static final Map<String, UniquePlacementPersistence> BY_WORLD = new ConcurrentHashMap<>();
+  private static final Object LEGACY_LOCK = new Object();
+
+  private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "Seasons-PlacementJournal");
+    thread.setDaemon(true);
+    return thread;
+  });
+  private static final AtomicBoolean FLUSHER_STARTED = new AtomicBoolean(false);
+  private static final AtomicLong NEXT_TOKEN = new AtomicLong();
+
+  // one reservation, replaced as a whole so compare-and-set on the map is enough
+  private static final class Lease {
+    final long token;
+    final long expiresAtMillis;
+
+    Lease(long token, long expiresAtMillis) {
+      this.token = token;
+      this.expiresAtMillis = expiresAtMillis;
+    }
+
+    boolean isExpired(long nowMillis) {
+      return nowMillis >= expiresAtMillis;
+    }
+  }
+
+  private final String worldName;
+  private final Path directory;
+  private final Path snapshotPath;
+  private final Path journalPath;
   private final Set<String> placedStructures;
-  private final ReadWriteLock lock;
-  private final Set<String> pendingPlacements;
+  private final Map<String, Lease> leases;
+  private volatile long reapedCount;
+  private final ConcurrentLinkedQueue<String> unflushed = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+  private final Object fileLock = new Object();
+  private FileChannel journal;             // guarded by fileLock
+  private int journalEntries;              // guarded by fileLock
 
-  private UniquePlacementPersistence() {
-    this.filePath = BASE_PATH.resolve("unique_placements.json");
+  private UniquePlacementPersistence(String worldName) {
+    this.worldName = worldName;
+    this.directory = BASE_PATH.resolve(directoryName(worldName));
+    this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+    this.journalPath = directory.resolve(JOURNAL_FILE);
     this.placedStructures = ConcurrentHashMap.newKeySet();
-    this.lock = new ReentrantReadWriteLock();
-    this.pendingPlacements = ConcurrentHashMap.newKeySet();
+    this.leases = new ConcurrentHashMap<>();
     load();
   }
 
-  public static UniquePlacementPersistence get() {
-    if (instance == null) {
-      synchronized (INSTANCE_LOCK) {
-        if (instance == null) {
-          instance = new UniquePlacementPersistence();
+  public static UniquePlacementPersistence forWorld(String worldName) {
+    return BY_WORLD.computeIfAbsent(worldName != null ? worldName : "default", UniquePlacementPersistence::new);
+  }
+
+  public static void initialize() {
+    if (FLUSHER_STARTED.compareAndSet(false, true)) {
+      FLUSHER.scheduleWithFixedDelay(UniquePlacementPersistence::flushAllQuietly,
+        FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      FLUSHER.scheduleWithFixedDelay(UniquePlacementPersistence::reapAll,
+        REAP_INTERVAL_MILLIS, REAP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    System.out.println("[ARCANE SEASONS] UniquePlacementPersistence initialized, journals under " + BASE_PATH);
+  }
+
+  // writes out everything still in memory and closes the journals, for plugin shutdown
+  public static void shutdown() {
+    for (UniquePlacementPersistence store : BY_WORLD.values()) {
+      store.flush();
+      store.closeJournal();
+    }
+  }
+
+  public boolean hasBeenPlaced(String structureId) {
+    return placedStructures.contains(structureId);
+  }
+
+  // lease token for the structure, or 0 if its placed already or someone else holds a live lease
+  public long tryReservePlacement(String structureId) {
+    if (hasBeenPlaced(structureId)) {
+      return 0;
+    }
+    long now = currentMillis();
+    Lease fresh = new Lease(NEXT_TOKEN.incrementAndGet(), now + LEASE_MILLIS);
+    while (true) {
+      Lease current = leases.putIfAbsent(structureId, fresh);
+      if (current == null) {
+        return fresh.token;
+      }
+      if (!current.isExpired(now)) {
+        return 0;
+      }
+      // the holder ran out of time, take over its lease unless somebody beat us to it
+      if (leases.replace(structureId, current, fresh)) {
+        return fresh.token;
+      }
+    }
+  }
+
+  // true while this token is the live lease for the structure
+  public boolean holdsReservation(String structureId, long token) {
+    Lease lease = leases.get(structureId);
+    return lease != null && lease.token == token && !lease.isExpired(currentMillis());
+  }
+
+  // pushes the lease out again for a holder thats still waiting, false if someone else owns it now
+  // (or it got placed). a lease that already expired or was reaped comes back as long as nobody took over
+  public boolean renewReservation(String structureId, long token) {
+    if (token == 0 || hasBeenPlaced(structureId)) {
+      return false;
+    }
+    Lease renewed = new Lease(token, currentMillis() + LEASE_MILLIS);
+    while (true) {
+      Lease current = leases.get(structureId);
+      if (current == null) {
+        if (leases.putIfAbsent(structureId, renewed) == null) {
+          return true;
         }
+        continue;
+      }
+      if (current.token != token) {
+        return false;
+      }
+      if (leases.replace(structureId, current, renewed)) {
+        return true;
       }
     }
-    return instance;
   }
 
-  public static void initialize() {
-    get();
-    System.out.println("[ARCANE SEASONS] UniquePlacementPersistence initialized with " +
-      get().placedStructures.size() + " placed structures");
+  // gives the lease back, does nothing if the token isnt the current one anymore
+  public void releasePendingPlacement(String structureId, long token) {
+    Lease lease = leases.get(structureId);
+    if (lease != null && lease.token == token) {
+      leases.remove(structureId, lease);
+    }
   }
 
-  public boolean hasBeenPlaced(String structureId) {
-    lock.readLock().lock();
+  // memory only, the journal write happens on the flusher thread
+  public void markAsPlaced(String structureId, long token) {
+    if (placedStructures.add(structureId)) {
+      unflushed.add(structureId);
+      requestFlush();
+    }
+    releasePendingPlacement(structureId, token);
+  }
+
+  public int getLeaseCount() {
+    return leases.size();
+  }
+
+  public long getReapedCount() {
+    return reapedCount;
+  }
+
+  private void reapExpired() {
+    long now = currentMillis();
+    for (Map.Entry<String, Lease> entry : leases.entrySet()) {
+      Lease lease = entry.getValue();
+      if (lease.isExpired(now) && leases.remove(entry.getKey(), lease)) {
+        reapedCount++;
+        System.out.println("[ARCANE SEASONS] Unique placement lease for " + entry.getKey() + " in " + worldName +
+          " expired, it can be placed again");
+      }
+    }
+  }
+
+  private static void reapAll() {
+    for (UniquePlacementPersistence store : BY_WORLD.values()) {
+      try {
+        store.reapExpired();
+      } catch (Exception e) {
+        System.err.println("[ARCANE SEASONS] error reaping unique placement leases: " + e.getMessage());
+      }
+    }
+  }
+
+  // monotonic, so a wall clock adjustment cant expire or stretch every lease at once
+  private static long currentMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+  }
+
+  public Set<String> getPlacedStructures() {
+    return new HashSet<>(placedStructures);
+  }
+
+  public String getWorldName() {
+    return worldName;
+  }
+
+  public void reload() {
+    synchronized (fileLock) {
+      flush();
+      placedStructures.clear();
+      load();
+    }
+  }
+
+  private void requestFlush() {
+    if (!flushScheduled.compareAndSet(false, true)) {
+      return;
+    }
     try {
-      return placedStructures.contains(structureId);
-    } finally {
-      lock.readLock().unlock();
+      FLUSHER.execute(() -> {
+        flushScheduled.set(false);
+        flush();
+      });
+    } catch (Exception e) {
+      flushScheduled.set(false);
+      System.err.println("[ARCANE SEASONS] Could not schedule unique placement flush for " + worldName + ": " + e.getMessage());
     }
   }
 
-  public boolean tryReservePlacement(String structureId) {
-    if (hasBeenPlaced(structureId)) {
-      return false;
+  private static void flushAllQuietly() {
+    for (UniquePlacementPersistence store : BY_WORLD.values()) {
+      try {
+        store.flush();
+      } catch (Exception e) {
+        System.err.println("[ARCANE SEASONS] error flushing unique placements: " + e.getMessage());
+      }
     }
-    return pendingPlacements.add(structureId);
   }
 
-  public void releasePendingPlacement(String structureId) {
-    pendingPlacements.remove(structureId);
+  // appends whatever was marked since last time as one fsync'd batch, compacts when the journal got long
+  private void flush() {
+    synchronized (fileLock) {
+      List<String> batch = new ArrayList<>();
+      String id;
+      while ((id = unflushed.poll()) != null) {
+        batch.add(id);
+      }
+      if (batch.isEmpty()) {
+        return;
+      }
+
+      try {
+        StringBuilder lines = new StringBuilder();
+        for (String structureId : batch) {
+          lines.append(structureId).append('\n');
+        }
+        FileChannel channel = openJournal();
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+          channel.write(bytes);
+        }
+        channel.force(false);
+        journalEntries += batch.size();
+      } catch (IOException e) {
+        // put them back, the next flush tries again
+        unflushed.addAll(batch);
+        System.err.println("[ARCANE SEASONS] error writing unique placement journal for " + worldName + ": " + e.getMessage());
+        return;
+      }
+
+      if (journalEntries >= COMPACT_AFTER_ENTRIES) {
+        compact();
+      }
+    }
   }
 
-  public void markAsPlaced(String structureId) {
-    lock.writeLock().lock();
+  // caller holds fileLock
+  private void compact() {
     try {
-      placedStructures.add(structureId);
-      pendingPlacements.remove(structureId);
-      save();
-    } finally {
-      lock.writeLock().unlock();
+      writeSnapshot(new HashSet<>(placedStructures));
+      // the snapshot already has everything in the journal, a crash before this truncate just replays duplicates
+      closeJournal();
+      Files.write(journalPath, new byte[0], StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+      journalEntries = 0;
+    } catch (IOException e) {
+      System.err.println("[ARCANE SEASONS] error compacting unique placements for " + worldName + ": " + e.getMessage());
     }
   }
 
-  public Set<String> getPlacedStructures() {
-    lock.readLock().lock();
+  private void writeSnapshot(Set<String> placed) throws IOException {
+    Files.createDirectories(directory);
+    Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer bytes = ByteBuffer.wrap(GSON.toJson(placed, SET_TYPE).getBytes(StandardCharsets.UTF_8));
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      channel.force(true);
+    }
     try {
-      return new HashSet<>(placedStructures);
-    } finally {
-      lock.readLock().unlock();
+      Files.move(temp, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  // caller holds fileLock
+  private FileChannel openJournal() throws IOException {
+    if (journal == null || !journal.isOpen()) {
+      Files.createDirectories(directory);
+      journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.APPEND);
+    }
+    return journal;
+  }
+
+  private void closeJournal() {
+    synchronized (fileLock) {
+      if (journal == null) {
+        return;
+      }
+      try {
+        journal.close();
+      } catch (IOException e) {
+        System.err.println("[ARCANE SEASONS] error closing unique placement journal: " + e.getMessage());
+      }
+      journal = null;
     }
   }
 
   private void load() {
+    boolean hasOwnStore = Files.exists(snapshotPath) || Files.exists(journalPath);
     try {
-      if (Files.exists(filePath)) {
-        String content = Files.readString(filePath);
-        Set<String> loaded = GSON.fromJson(content, SET_TYPE);
+      if (Files.exists(snapshotPath)) {
+        Set<String> loaded = GSON.fromJson(Files.readString(snapshotPath), SET_TYPE);
         if (loaded != null) {
           placedStructures.addAll(loaded);
         }
-        System.out.println("[ARCANE SEASONS] Loaded " + placedStructures.size() +
-          " unique placements from " + filePath);
-      } else {
-        System.out.println("[ARCANE SEASONS] No existing unique placements file found at " + filePath);
       }
-    } catch (IOException e) {
-      System.err.println("[ARCANE SEASONS] error loading unique placements: " + e.getMessage());
     } catch (Exception e) {
-      System.err.println("[ARCANE SEASONS] error parsing unique placements: " + e.getMessage());
+      System.err.println("[ARCANE SEASONS] error reading unique placement snapshot for " + worldName + ": " + e.getMessage());
     }
+
+    int replayed = replayJournal();
+    if (!hasOwnStore) {
+      adoptLegacyFile();
+    }
+
+    System.out.println("[ARCANE SEASONS] Loaded " + placedStructures.size() + " unique placements for " + worldName +
+      (replayed > 0 ? " (" + replayed + " from journal)" : ""));
   }
 
-  private void save() {
+  private int replayJournal() {
+    if (!Files.exists(journalPath)) {
+      return 0;
+    }
     try {
-      Files.createDirectories(filePath.getParent());
-      String json = GSON.toJson(new HashSet<>(placedStructures), SET_TYPE);
-      Files.writeString(filePath, json);
+      String content = Files.readString(journalPath, StandardCharsets.UTF_8);
+      int replayed = 0;
+      int start = 0;
+      int end;
+      // only newline terminated lines count, a torn last line from a crash is ignored
+      while ((end = content.indexOf('\n', start)) >= 0) {
+        String id = content.substring(start, end).trim();
+        if (!id.isEmpty()) {
+          placedStructures.add(id);
+          replayed++;
+        }
+        start = end + 1;
+      }
+      synchronized (fileLock) {
+        journalEntries = replayed;
+      }
+      return replayed;
     } catch (IOException e) {
-      System.err.println("[ARCANE SEASONS] error saving unique placements: " + e.getMessage());
+      System.err.println("[ARCANE SEASONS] error replaying unique placement journal for " + worldName + ": " + e.getMessage());
+      return 0;
     }
   }
 
-  public void reload() {
-    lock.writeLock().lock();
-    try {
-      placedStructures.clear();
-      load();
-    } finally {
-      lock.writeLock().unlock();
+  // the pre journal file was shared by every world, the first world without its own store takes it over
+  private void adoptLegacyFile() {
+    synchronized (LEGACY_LOCK) {
+      if (!Files.exists(LEGACY_FILE)) {
+        return;
+      }
+      try {
+        Set<String> legacy = GSON.fromJson(Files.readString(LEGACY_FILE), SET_TYPE);
+        if (legacy != null) {
+          placedStructures.addAll(legacy);
+        }
+        synchronized (fileLock) {
+          writeSnapshot(new HashSet<>(placedStructures));
+        }
+        Files.move(LEGACY_FILE, LEGACY_FILE.resolveSibling("unique_placements.json.migrated"),
+          StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("[ARCANE SEASONS] Migrated " + (legacy != null ? legacy.size() : 0) +
+          " unique placements from " + LEGACY_FILE + " to world " + worldName);
+      } catch (Exception e) {
+        System.err.println("[ARCANE SEASONS] error migrating legacy unique placements: " + e.getMessage());
+      }
     }
   }
+
+  private static String directoryName(String worldName) {
+    return worldName.replaceAll("[^A-Za-z0-9._-]", "_");
+  }
 }
@@ -0,0 +1,55 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.seasons.util.LongIntHashMap;
+
+// remembers which tint version each chunk in a world already carries
+// the version is just the tint color we wrote, so a season change makes every stamp stale for free
+// chunk load events can come in off the world thread so everything here is synchronized
+// entries get seeded from the saved tint when a chunk loads, so one left behind by an unload is only
+// memory. once the ledger passes its sweep mark the ones whose chunks are gone get dropped
+public class ChunkTintLedger {
+
+    public static final int NO_TINT = 0;     // fully transparent, never a real grass color
+    public static final int SWEEP_ABOVE = 8192;
+
+    private final LongIntHashMap applied = new LongIntHashMap(1024);
+    private int sweepAt = SWEEP_ABOVE;
+
+    public synchronized boolean isCurrent(long chunkIndex, int tintVersion) {
+        return applied.get(chunkIndex, NO_TINT) == tintVersion;
+    }
+
+    public synchronized int getApplied(long chunkIndex) {
+        return applied.get(chunkIndex, NO_TINT);
+    }
+
+    public synchronized void stamp(long chunkIndex, int tintVersion) {
+        applied.put(chunkIndex, tintVersion);
+    }
+
+    // for freshly generated chunks, whatever we knew about that index before is meaningless now
+    public synchronized void forget(long chunkIndex) {
+        applied.remove(chunkIndex);
+    }
+
+    // drops entries for chunks that arent in memory anymore, only once the ledger grew past its mark
+    // the mark moves up to twice whats left so a lot of loaded chunks dont make it sweep every call
+    // world thread only, returns how many entries went
+    public synchronized int sweepUnloaded(World world) {
+        if (applied.size() < sweepAt) {
+            return 0;
+        }
+        int removed = applied.removeIf(chunkIndex -> world.getChunkIfInMemory(chunkIndex) == null);
+        sweepAt = Math.max(SWEEP_ABOVE, applied.size() * 2);
+        return removed;
+    }
+
+    public synchronized int size() {
+        return applied.size();
+    }
+
+    public synchronized void clear() {
+        applied.clear();
+    }
+}
@@ -0,0 +1,260 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.math.vector.Transform;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.math.vector.Vector3f;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.WorldNotificationHandler;
+import com.hypixel.seasons.util.LongArrayList;
+import com.hypixel.seasons.util.LongHashSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// collects chunks that need resending after a tint change and sends them out a few per tick
+// every updateChunk is a full chunk resend, so firing them all at once on a season flip
+// flooded the network. now the same chunk marked twice is only sent once, theres a cap per tick
+// overall and per player, and chunks in front of each player go out before the ones behind them
+// chunks nobody can see anymore are dropped, they get sent fresh when someone walks back
+public class ChunkUpdateCoalescer {
+
+    public static final int DEFAULT_CHUNKS_PER_TICK = 96;
+    public static final int DEFAULT_CHUNKS_PER_PLAYER_PER_TICK = 24;
+
+    // how much worse a chunk off to the side or behind ranks than one straight ahead at the same distance
+    private static final int SIDE_PENALTY = 2;
+    private static final int BEHIND_PENALTY = 4;
+    private static final float AHEAD_DOT = 0.5f;     // roughly a 120 degree cone in front
+
+    private final World world;
+    private final int viewDistance;
+    private final WorldTickPump pump;
+
+    // pending chunks in the order they were marked, the set is just for dedupe
+    private final LongHashSet pendingSet = new LongHashSet(1024);
+    private final LongArrayList pending = new LongArrayList(1024);
+    private final LongArrayList carry = new LongArrayList(1024);
+
+    // flush scratch, reused between ticks
+    private long[] ranked = new long[1024];
+    private int[] viewerChunks = new int[16];      // chunkX, chunkZ pairs
+    private float[] viewerFacing = new float[16];  // forward x, z pairs
+    private int[] viewerSent = new int[8];
+    private int viewerCount;
+
+    private volatile int chunksPerTick = DEFAULT_CHUNKS_PER_TICK;
+    private volatile int chunksPerPlayerPerTick = DEFAULT_CHUNKS_PER_PLAYER_PER_TICK;
+
+    // running totals, only for debugging / the season command
+    private volatile long sentCount;
+    private volatile long coalescedCount;
+    private volatile long droppedCount;
+
+    public ChunkUpdateCoalescer(World world, int viewDistance) {
+        this.world = world;
+        this.viewDistance = viewDistance;
+        this.pump = new WorldTickPump(world, "chunk updates", this::flush);
+    }
+
+    public void setChunksPerTick(int chunksPerTick) {
+        this.chunksPerTick = Math.max(0, chunksPerTick);
+    }
+
+    public int getChunksPerTick() {
+        return chunksPerTick;
+    }
+
+    public void setChunksPerPlayerPerTick(int chunksPerPlayerPerTick) {
+        this.chunksPerPlayerPerTick = Math.max(0, chunksPerPlayerPerTick);
+    }
+
+    public int getChunksPerPlayerPerTick() {
+        return chunksPerPlayerPerTick;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    // queue a resend for this chunk, it goes out on one of the next ticks
+    // synchronized because chunk load events might not be on the world thread
+    public synchronized void markDirty(long chunkIndex) {
+        if (!pendingSet.add(chunkIndex)) {
+            coalescedCount++;
+            return;
+        }
+        pending.add(chunkIndex);
+        pump.wake();
+    }
+
+    // one tick of sending, returns true if some chunks had to wait for the next tick
+    private synchronized boolean flush() {
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        WorldNotificationHandler notificationHandler = world.getNotificationHandler();
+        gatherViewers();
+
+        if (notificationHandler == null || viewerCount == 0) {
+            // nobody to send to, they get the current state whenever the chunks get sent normally
+            droppedCount += pending.size();
+            pending.clear();
+            pendingSet.clear();
+            return false;
+        }
+
+        // rank everything by the best score any viewer gives it
+        // score in the high bits and list position in the low bits so a plain sort orders them
+        int count = 0;
+        int pendingCount = pending.size();
+        if (ranked.length < pendingCount) {
+            ranked = new long[Math.max(pendingCount, ranked.length << 1)];
+        }
+        for (int i = 0; i < pendingCount; i++) {
+            long chunkIndex = pending.get(i);
+            int score = bestScore(ChunkUtil.xOfChunkIndex(chunkIndex), ChunkUtil.zOfChunkIndex(chunkIndex));
+            if (score == Integer.MAX_VALUE) {
+                pendingSet.remove(chunkIndex);
+                droppedCount++;
+                continue;
+            }
+            ranked[count++] = ((long) score << 32) | i;
+        }
+        Arrays.sort(ranked, 0, count);
+
+        int globalCap = chunksPerTick > 0 ? chunksPerTick : Integer.MAX_VALUE;
+        int playerCap = chunksPerPlayerPerTick > 0 ? chunksPerPlayerPerTick : Integer.MAX_VALUE;
+        Arrays.fill(viewerSent, 0, viewerCount, 0);
+        carry.clear();
+        int sentThisTick = 0;
+
+        for (int k = 0; k < count; k++) {
+            long chunkIndex = pending.get((int) ranked[k]);
+
+            if (sentThisTick >= globalCap) {
+                carry.add(chunkIndex);
+                continue;
+            }
+
+            // every client that can see the chunk pays for the resend, so all of them need room left
+            int chunkX = ChunkUtil.xOfChunkIndex(chunkIndex);
+            int chunkZ = ChunkUtil.zOfChunkIndex(chunkIndex);
+            if (anyViewerFull(chunkX, chunkZ, playerCap)) {
+                carry.add(chunkIndex);
+                continue;
+            }
+            chargeViewers(chunkX, chunkZ);
+
+            notificationHandler.updateChunk(chunkIndex);
+            pendingSet.remove(chunkIndex);
+            sentThisTick++;
+        }
+
+        sentCount += sentThisTick;
+
+        pending.clear();
+        pending.addAll(carry);
+        return !pending.isEmpty();
+    }
+
+    private void gatherViewers() {
+        viewerCount = 0;
+
+        Collection<PlayerRef> players = world.getPlayerRefs();
+        if (players == null || players.isEmpty()) {
+            return;
+        }
+
+        for (PlayerRef playerRef : players) {
+            Transform transform = playerRef.getTransform();
+            if (transform == null) continue;
+
+            Vector3d position = transform.getPosition();
+            if (position == null) continue;
+
+            // yaw 0 looks down -z, same convention the rest of the transform code uses
+            float forwardX = 0;
+            float forwardZ = 0;
+            Vector3f rotation = transform.getRotation();
+            if (rotation != null) {
+                forwardX = (float) -Math.sin(rotation.y);
+                forwardZ = (float) -Math.cos(rotation.y);
+            }
+
+            if ((viewerCount + 1) * 2 > viewerChunks.length) {
+                viewerChunks = Arrays.copyOf(viewerChunks, viewerChunks.length * 2);
+                viewerFacing = Arrays.copyOf(viewerFacing, viewerFacing.length * 2);
+                viewerSent = Arrays.copyOf(viewerSent, viewerSent.length * 2);
+            }
+            viewerChunks[viewerCount * 2] = MathUtil.floor(position.getX()) >> 5;
+            viewerChunks[viewerCount * 2 + 1] = MathUtil.floor(position.getZ()) >> 5;
+            viewerFacing[viewerCount * 2] = forwardX;
+            viewerFacing[viewerCount * 2 + 1] = forwardZ;
+            viewerCount++;
+        }
+    }
+
+    // lower is sooner. MAX_VALUE means no viewer has it in range
+    private int bestScore(int chunkX, int chunkZ) {
+        int best = Integer.MAX_VALUE;
+        for (int v = 0; v < viewerCount; v++) {
+            int dx = chunkX - viewerChunks[v * 2];
+            int dz = chunkZ - viewerChunks[v * 2 + 1];
+            if (Math.abs(dx) > viewDistance || Math.abs(dz) > viewDistance) continue;
+
+            int distanceSq = dx * dx + dz * dz;
+            int score = distanceSq;
+            if (distanceSq > 2) {
+                // the chunks right around the player go first no matter which way theyre facing
+                float dot = (dx * viewerFacing[v * 2] + dz * viewerFacing[v * 2 + 1]) / (float) Math.sqrt(distanceSq);
+                if (dot < 0) {
+                    score = distanceSq * BEHIND_PENALTY;
+                } else if (dot < AHEAD_DOT) {
+                    score = distanceSq * SIDE_PENALTY;
+                }
+            }
+            if (score < best) {
+                best = score;
+            }
+        }
+        return best;
+    }
+
+    private boolean anyViewerFull(int chunkX, int chunkZ, int playerCap) {
+        for (int v = 0; v < viewerCount; v++) {
+            if (canSee(v, chunkX, chunkZ) && viewerSent[v] >= playerCap) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void chargeViewers(int chunkX, int chunkZ) {
+        for (int v = 0; v < viewerCount; v++) {
+            if (canSee(v, chunkX, chunkZ)) {
+                viewerSent[v]++;
+            }
+        }
+    }
+
+    private boolean canSee(int viewer, int chunkX, int chunkZ) {
+        return Math.abs(chunkX - viewerChunks[viewer * 2]) <= viewDistance
+            && Math.abs(chunkZ - viewerChunks[viewer * 2 + 1]) <= viewDistance;
+    }
+}
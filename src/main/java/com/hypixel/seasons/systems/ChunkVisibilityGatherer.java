@@ -0,0 +1,110 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.math.vector.Transform;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.seasons.util.LongArrayList;
+import com.hypixel.seasons.util.LongHashSet;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// collects every chunk index within render distance of any player into reusable primitive buffers
+// the old version built a HashSet<Long> per call which boxed up to 33x33 longs per player
+// one instance per world, only use it from the world thread
+public class ChunkVisibilityGatherer {
+
+    private final LongHashSet visible = new LongHashSet(2048);
+    private final LongArrayList ordered = new LongArrayList(2048);
+    private int[] centers = new int[16];
+    private int centerCount;
+
+    // fills the buffers walking out ring by ring around all players at once,
+    // so ordered() comes back nearest-first for everyone. returns how many chunks were found
+    public int gather(World world, int renderDistance) {
+        visible.clear();
+        ordered.clear();
+        centerCount = 0;
+
+        if (world == null) {
+            return 0;
+        }
+
+        Collection<PlayerRef> players = world.getPlayerRefs();
+        if (players == null || players.isEmpty()) {
+            return 0;
+        }
+
+        for (PlayerRef playerRef : players) {
+            Transform transform = playerRef.getTransform();
+            if (transform == null) continue;
+
+            Vector3d position = transform.getPosition();
+            if (position == null) continue;
+
+            addCenter(MathUtil.floor(position.getX()) >> 5, MathUtil.floor(position.getZ()) >> 5);
+        }
+
+        for (int ring = 0; ring <= renderDistance; ring++) {
+            for (int i = 0; i < centerCount; i++) {
+                addRing(centers[i * 2], centers[i * 2 + 1], ring);
+            }
+        }
+
+        return ordered.size();
+    }
+
+    // nearest-first list of what the last gather() found
+    public LongArrayList ordered() {
+        return ordered;
+    }
+
+    public boolean contains(long chunkIndex) {
+        return visible.contains(chunkIndex);
+    }
+
+    public int size() {
+        return ordered.size();
+    }
+
+    private void addCenter(int chunkX, int chunkZ) {
+        // players standing in the same chunk only need to be walked once
+        for (int i = 0; i < centerCount; i++) {
+            if (centers[i * 2] == chunkX && centers[i * 2 + 1] == chunkZ) {
+                return;
+            }
+        }
+        if ((centerCount + 1) * 2 > centers.length) {
+            centers = Arrays.copyOf(centers, centers.length * 2);
+        }
+        centers[centerCount * 2] = chunkX;
+        centers[centerCount * 2 + 1] = chunkZ;
+        centerCount++;
+    }
+
+    private void addRing(int centerX, int centerZ, int ring) {
+        if (ring == 0) {
+            add(centerX, centerZ);
+            return;
+        }
+
+        for (int dx = -ring; dx <= ring; dx++) {
+            add(centerX + dx, centerZ - ring);
+            add(centerX + dx, centerZ + ring);
+        }
+        for (int dz = -ring + 1; dz <= ring - 1; dz++) {
+            add(centerX - ring, centerZ + dz);
+            add(centerX + ring, centerZ + dz);
+        }
+    }
+
+    private void add(int chunkX, int chunkZ) {
+        long chunkIndex = ChunkUtil.indexChunk(chunkX, chunkZ);
+        if (visible.add(chunkIndex)) {
+            ordered.add(chunkIndex);
+        }
+    }
+}
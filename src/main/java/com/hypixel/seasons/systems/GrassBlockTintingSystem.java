@@ -6,23 +6,36 @@ import com.hypixel.hytale.math.vector.Transform;
 import com.hypixel.hytale.math.vector.Vector3d;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.World;
-import com.hypixel.hytale.server.core.universe.world.WorldNotificationHandler;
 import com.hypixel.hytale.server.core.universe.world.chunk.BlockChunk;
 import com.hypixel.hytale.server.core.universe.world.chunk.WorldChunk;
+import com.hypixel.seasons.util.LongArrayList;
+import com.hypixel.seasons.util.LongIntHashMap;
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
 
 public class GrassBlockTintingSystem {
 
     private static final int CHUNK_SIZE = 32;
-    private static final int RENDER_DISTANCE = 16;
+    static final int RENDER_DISTANCE = 16;
 
     private final World world;
-    private int currentTintColor = 0xFF2ECC71;     // default spring/summer green
+    private final TintRolloutScheduler rolloutScheduler;
+    private final TintFrontier frontier;
+    private final ChunkUpdateCoalescer updateCoalescer;
+    private final TintWriteBackQueue writeBacks;
+    private final ChunkTintLedger tintLedger = new ChunkTintLedger();
+    private final ChunkVisibilityGatherer visibilityGatherer = new ChunkVisibilityGatherer();
+    private final TintField tintField;
+    private final LongIntHashMap inFlight = new LongIntHashMap(256);     // chunk -> color being computed on the workers
+    private final ThreadLocal<int[]> preloadColumns = ThreadLocal.withInitial(() -> new int[TintField.COLUMNS]);
+    private volatile int currentTintColor = 0xFF2ECC71;     // default spring/summer green
 
     public GrassBlockTintingSystem(World world) {
         this.world = world;
+        this.tintField = new TintField(world);
+        this.updateCoalescer = new ChunkUpdateCoalescer(world, RENDER_DISTANCE);
+        this.writeBacks = new TintWriteBackQueue(world, this::applyColumns);
+        this.rolloutScheduler = new TintRolloutScheduler(world, this);
+        this.frontier = new TintFrontier(rolloutScheduler, RENDER_DISTANCE);
     }
 
     public World getWorld() {
@@ -37,24 +50,135 @@ public class GrassBlockTintingSystem {
         return currentTintColor;
     }
 
-    // this is the low level one that actually writes the tint into a chunk
-    // assumes the chunk and its blockchunk already exist
-    public void tintChunk(WorldChunk worldChunk, int tintColor) {
+    public TintRolloutScheduler getRolloutScheduler() {
+        return rolloutScheduler;
+    }
+
+    public ChunkUpdateCoalescer getUpdateCoalescer() {
+        return updateCoalescer;
+    }
+
+    public TintWriteBackQueue getWriteBacks() {
+        return writeBacks;
+    }
+
+    public TintFrontier getFrontier() {
+        return frontier;
+    }
+
+    // shared scratch buffers, world thread only
+    ChunkVisibilityGatherer getVisibilityGatherer() {
+        return visibilityGatherer;
+    }
+
+    public ChunkTintLedger getTintLedger() {
+        return tintLedger;
+    }
+
+    // chunk pre-load, the tint written here is final since nobody has been sent this chunk yet
+    // chunks loaded back from disk keep the tint they were saved with if one column of it shows its the
+    // current color, anything else gets the full field right here and is stamped, so theres no worker
+    // round trip and no resend. returns true if columns were written
+    public boolean tintOnPreLoad(WorldChunk worldChunk, boolean newlyGenerated) {
         if (worldChunk == null) {
-            return;
+            return false;
         }
-
         BlockChunk blockChunk = worldChunk.getBlockChunk();
         if (blockChunk == null) {
-            // this shouldnt really happen but ive seen it during world gen weirdness
+            return false;
+        }
+        long chunkIndex = ChunkUtil.indexChunk(worldChunk.getX(), worldChunk.getZ());
+        int tintColor = currentTintColor;
+
+        // whatever the ledger had for this index is from before the chunk went away, the saved tint is the truth
+        if (!newlyGenerated && TintPalette.forColor(tintColor).contains(blockChunk.getTint(0, 0))) {
+            tintLedger.stamp(chunkIndex, tintColor);
+            return false;
+        }
+
+        int[] columns = tintField.compute(worldChunk.getX(), worldChunk.getZ(), tintColor, preloadColumns.get());
+        writeColumns(blockChunk, columns);
+        tintLedger.stamp(chunkIndex, tintColor);
+
+        // a season change or blend step that landed while we were at it skipped this chunk since it
+        // wasnt in memory yet, so it goes through the normal path with the new color
+        int latest = currentTintColor;
+        if (latest != tintColor) {
+            requestTint(chunkIndex, latest);
+        }
+        return true;
+    }
+
+    // keeps the ledger from holding on to every chunk that was ever loaded, world thread only
+    public void sweepLedger() {
+        int removed = tintLedger.sweepUnloaded(world);
+        if (removed > 0) {
+            System.out.println("[ARCANE SEASONS] Tint ledger dropped " + removed + " unloaded chunks in " + world.getName());
+        }
+    }
+
+    // async version, the column colors get worked out on the tint field workers and only
+    // the setTint writes come back to the world thread (plus the chunk resend), paced by the write-back queue
+    // returns false if theres nothing to do because the chunk has or is already getting this tint
+    public boolean requestTint(long chunkIndex, int tintColor) {
+        if (tintLedger.isCurrent(chunkIndex, tintColor)) {
+            return false;
+        }
+        synchronized (inFlight) {
+            if (inFlight.get(chunkIndex, ChunkTintLedger.NO_TINT) == tintColor) {
+                return false;
+            }
+            inFlight.put(chunkIndex, tintColor);
+        }
+
+        int chunkX = ChunkUtil.xOfChunkIndex(chunkIndex);
+        int chunkZ = ChunkUtil.zOfChunkIndex(chunkIndex);
+        tintField.computeAsync(chunkX, chunkZ, tintColor).whenComplete((columns, error) -> {
+            if (error != null) {
+                clearInFlight(chunkIndex, tintColor);
+                System.err.println("[ARCANE SEASONS] Error computing tint field for chunk " + chunkX + ", " + chunkZ + ": " + error.getMessage());
+                return;
+            }
+            writeBacks.submit(chunkIndex, tintColor, columns);
+        });
+        return true;
+    }
+
+    // world thread side of requestTint, called from the write-back drain
+    private void applyColumns(long chunkIndex, int tintColor, int[] columns) {
+        clearInFlight(chunkIndex, tintColor);
+
+        // a newer season / blend step got going while this was computing, that one wins
+        if (tintColor != currentTintColor || tintLedger.isCurrent(chunkIndex, tintColor)) {
             return;
         }
 
-        // straight up paint every x,z in the chunk
-        // no fancy per-biome or height stuff, just uniform color for now
+        WorldChunk worldChunk = world.getChunkIfInMemory(chunkIndex);
+        if (worldChunk == null) return;
+
+        BlockChunk blockChunk = worldChunk.getBlockChunk();
+        if (blockChunk == null) return;
+
+        writeColumns(blockChunk, columns);
+        tintLedger.stamp(chunkIndex, tintColor);
+
+        // this tells rendering / networking side that this chunk needs to be resent
+        // without it players wont see the grass change until they relog or chunk reloads
+        updateCoalescer.markDirty(chunkIndex);
+    }
+
+    private void clearInFlight(long chunkIndex, int tintColor) {
+        synchronized (inFlight) {
+            if (inFlight.get(chunkIndex, ChunkTintLedger.NO_TINT) == tintColor) {
+                inFlight.remove(chunkIndex);
+            }
+        }
+    }
+
+    private void writeColumns(BlockChunk blockChunk, int[] columns) {
         for (int x = 0; x < CHUNK_SIZE; x++) {
             for (int z = 0; z < CHUNK_SIZE; z++) {
-                blockChunk.setTint(x, z, tintColor);
+                blockChunk.setTint(x, z, columns[x * CHUNK_SIZE + z]);
             }
         }
     }
@@ -66,84 +190,53 @@ public class GrassBlockTintingSystem {
             return;
         }
 
-        WorldChunk worldChunk = world.getChunkIfInMemory(chunkIndex);
-        if (worldChunk == null) {
+        if (world.getChunkIfInMemory(chunkIndex) == null) {
             // chunk isnt loaded, nothing to do
             return;
         }
 
-        tintChunk(worldChunk, tintColor);
-
-        WorldNotificationHandler notificationHandler = world.getNotificationHandler();
-        if (notificationHandler != null) {
-            notificationHandler.updateChunk(chunkIndex);
-            // this tells rendering / networking side that this chunk needs to be resent
-            // without it players wont see the grass change until they relog or chunk reloads
-        }
+        // already having this tint means no work and no resend
+        // otherwise the resend goes through the coalescer once the colors are written
+        requestTint(chunkIndex, tintColor);
     }
 
     // this is the big one called on season change
     // finds every chunk thats currently visible to any player and tints it
-    // returns how many chunks actually got tinted (useful for logging / debugging)
+    // returns how many chunks got sent off to be tinted (useful for logging / debugging)
     public int tintAllChunksNearPlayers(int tintColor) {
         if (world == null) {
             return 0;
         }
 
-        Set<Long> chunksToTint = new HashSet<>();
-        Collection<PlayerRef> players = world.getPlayerRefs();
-
-        if (players == null || players.isEmpty()) {
-            return 0;   // no players = no work
-        }
-
         // collect every chunk thats in render distance of any player
-        for (PlayerRef playerRef : players) {
-            Transform transform = playerRef.getTransform();
-            if (transform == null) continue;
-
-            Vector3d position = transform.getPosition();
-            if (position == null) continue;
-
-            int playerChunkX = MathUtil.floor(position.getX()) >> 5;
-            int playerChunkZ = MathUtil.floor(position.getZ()) >> 5;
-
-            // yes its a square not a circle, we dont care about corners being a bit extra
-            for (int dx = -RENDER_DISTANCE; dx <= RENDER_DISTANCE; dx++) {
-                for (int dz = -RENDER_DISTANCE; dz <= RENDER_DISTANCE; dz++) {
-                    int chunkX = playerChunkX + dx;
-                    int chunkZ = playerChunkZ + dz;
-                    long chunkIndex = ChunkUtil.indexChunk(chunkX, chunkZ);
-                    chunksToTint.add(chunkIndex);
-                }
-            }
+        // yes its a square not a circle, we dont care about corners being a bit extra
+        // the gatherer reuses its buffers so this doesnt box anything
+        int visibleCount = visibilityGatherer.gather(world, RENDER_DISTANCE);
+        if (visibleCount == 0) {
+            return 0;   // no players = no work
         }
 
-        Set<Long> tintedChunks = new HashSet<>();
+        LongArrayList visibleChunks = visibilityGatherer.ordered();
+        int tintedCount = 0;
 
-        // now actually tint the ones that are loaded
-        for (long chunkIndex : chunksToTint) {
-            WorldChunk worldChunk = world.getChunkIfInMemory(chunkIndex);
-            if (worldChunk == null) continue;
+        // now send off the ones that are loaded, nearest first
+        // the workers write them back and the coalescer paces the resends
+        for (int i = 0; i < visibleChunks.size(); i++) {
+            long chunkIndex = visibleChunks.get(i);
+            if (world.getChunkIfInMemory(chunkIndex) == null) continue;
 
-            tintChunk(worldChunk, tintColor);
-            tintedChunks.add(chunkIndex);
-        }
-
-        // batch notify all affected chunks at once
-        WorldNotificationHandler notificationHandler = world.getNotificationHandler();
-        if (notificationHandler != null) {
-            for (long chunkIndex : tintedChunks) {
-                notificationHandler.updateChunk(chunkIndex);
+            // chunks that already have the color are skipped, so a join in a settled world is almost free
+            if (requestTint(chunkIndex, tintColor)) {
+                tintedCount++;
             }
         }
 
         // little debug print so we can see in console how heavy season changes are
-        if (!tintedChunks.isEmpty()) {
-            System.out.println("[ARCANE SEASONS] Tinted " + tintedChunks.size() + " chunks with color 0x" + Integer.toHexString(tintColor));
+        if (tintedCount > 0) {
+            System.out.println("[ARCANE SEASONS] Queued " + tintedCount + " chunks for tinting with color 0x" + Integer.toHexString(tintColor));
         }
 
-        return tintedChunks.size();
+        return tintedCount;
     }
 
     // helper to check if a given chunk coord is visible to anyone right now
@@ -186,25 +279,32 @@ public class GrassBlockTintingSystem {
             return;     // dont waste time tinting chunks nobody can see
         }
 
-        tintChunk(worldChunk, tintColor);
-
-        long chunkIndex = ChunkUtil.indexChunk(chunkX, chunkZ);
-        WorldNotificationHandler notificationHandler = world.getNotificationHandler();
-        if (notificationHandler != null) {
-            notificationHandler.updateChunk(chunkIndex);
-        }
+        requestTint(ChunkUtil.indexChunk(chunkX, chunkZ), tintColor);
     }
 
     // main season change hook
-    // sets the new color and immediately applies it to visible chunks
+    // sets the new color and kicks off a rollout that applies it to visible chunks over the next ticks
+    // doing it all in one tick stalled the server with lots of players spread out
+    // has to run on the world thread
     public void onSeasonChange(int newTintColor) {
         System.out.println("[ARCANE SEASONS] season changed, applying new tint color: 0x" + Integer.toHexString(newTintColor));
 
         this.currentTintColor = newTintColor;
-        tintAllChunksNearPlayers(newTintColor);
+        rolloutScheduler.start(newTintColor);
 
         // note: we dont tint unloaded chunks here
         // when they eventually load they should call tintChunkIfNearPlayer() or similar
         // thats handled in the chunk loader / block update path somewhere else
     }
+
+    // one step of the end of season blend, same rollout as a season change just without the fanfare
+    // has to run on the world thread
+    public void onTintStep(int tintColor) {
+        if (tintColor == currentTintColor) {
+            return;
+        }
+
+        this.currentTintColor = tintColor;
+        rolloutScheduler.start(tintColor);
+    }
 }
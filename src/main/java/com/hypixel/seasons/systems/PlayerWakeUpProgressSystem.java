@@ -116,60 +116,18 @@ public class PlayerWakeUpProgressSystem extends RefChangeSystem<EntityStore, Pla
                 return;
             }
 
-            SeasonResource seasonResource = store.getResource(SeasonResource.getResourceType());
-            if (seasonResource == null) {
-                seasonResource = new SeasonResource();
+            World world = store.getExternalData().getWorld();
+            if (world == null) {
+                return;
             }
 
-            Season currentSeason = seasonResource.getCurrentSeason();
+            SeasonResource seasonResource = store.getResource(SeasonResource.getResourceType());
+            Season currentSeason = seasonResource != null ? seasonResource.getCurrentSeason() : null;
             if (currentSeason == null) {
                 currentSeason = Season.SPRING;
             }
 
-            Season[] seasons = Season.values();
-            int currentIndex = -1;
-            for (int i = 0; i < seasons.length; i++) {
-                if (seasons[i] == currentSeason) {
-                    currentIndex = i;
-                    break;
-                }
-            }
-
-            Season nextSeason = seasons[(currentIndex + 1) % seasons.length];
-
-            System.out.println("[ARCANE SEASONS] ========================================");
-            System.out.println("[ARCANE SEASONS] SEASON CHANGED (Sleep Progression)");
-            System.out.println("[ARCANE SEASONS] " + currentSeason.getDisplayName() + " -> " + nextSeason.getDisplayName());
-            System.out.println("[ARCANE SEASONS] ========================================");
-
-            seasonResource.setCurrentSeason(nextSeason);
-            seasonResource.setDayOfSeason(0);
-            seasonResource.setTotalDaysPassed(nextSeason.getStartDay());
-
-            store.replaceResource(SeasonResource.getResourceType(), seasonResource);
-
-            World world = store.getExternalData().getWorld();
-            if (world != null) {
-                GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(world.getName());
-                if (tintingSystem != null) {
-                    int tintColor = nextSeason.getGrassTintColor();
-                    System.out.println("[ARCANE SEASONS] Applying tint color: 0x" + Integer.toHexString(tintColor));
-                    World tintingWorld = tintingSystem.getWorld();
-                    tintingWorld.execute(() -> {
-                        try {
-                            tintingSystem.onSeasonChange(tintColor);
-                            System.out.println("[ARCANE SEASONS] Tinting complete");
-                        } catch (Exception e) {
-                            System.err.println("[ARCANE SEASONS] Error during tinting: " + e.getMessage());
-                        }
-                    });
-                }
-
-                SeasonWeatherManager weatherManager = module.getWeatherManager();
-                if (weatherManager != null) {
-                    weatherManager.onSeasonChange(nextSeason);
-                }
-            }
+            SeasonTransitionService.getInstance().setSeason(world, store, currentSeason.getNext(), "Sleep Progression");
 
         } catch (Exception e) {
             System.err.println("[ARCANE SEASONS] Error triggering season change: " + e.getMessage());
@@ -0,0 +1,53 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.DelayedEntitySystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.seasons.SeasonsModule;
+
+// drives the day cycle of every world that has players in it, days pass with world time and the
+// end of season blend steps come in on their own instead of only when someone runs a command
+// it ticks per player but the season system only moves once a full day went by, so extra players are a compare each
+public class SeasonClockSystem extends DelayedEntitySystem<EntityStore> {
+
+    public SeasonClockSystem() {
+        super(1.0f);
+    }
+
+    @Override
+    public void tick(float dt, int index, ArchetypeChunk<EntityStore> archetypeChunk,
+                     Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+
+        Ref<EntityStore> playerRef = archetypeChunk.getReferenceTo(index);
+        Player player = store.getComponent(playerRef, Player.getComponentType());
+        if (player == null) {
+            return;
+        }
+
+        World world = player.getWorld();
+        SeasonsModule module = SeasonsModule.getInstance();
+        if (world == null || module == null) {
+            return;
+        }
+
+        try {
+            SeasonSystem seasonSystem = module.getSeasonSystemForWorld(world, store);
+            if (seasonSystem != null) {
+                seasonSystem.tickClock();
+            }
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Error advancing season clock: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Player.getComponentType();
+    }
+}
@@ -4,18 +4,19 @@ import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.hypixel.seasons.Season;
-import com.hypixel.seasons.events.SeasonChangeEvent;
+import com.hypixel.seasons.SeasonCalendar;
 import com.hypixel.seasons.resources.SeasonResource;
 
 public class SeasonSystem {
     private static final long TICKS_PER_DAY = 24000;
-    private static final int DAYS_PER_YEAR = 360;
+    private static final long TICK_NANOS = WorldTickPump.TICK_MILLIS * 1_000_000L;
 
     private final World world;
     private final Store<EntityStore> store;
     private final SeasonWeatherManager weatherManager;
     private final GrassBlockTintingSystem grassTintingSystem;
     private long lastTickTime = 0;
+    private final long clockStartNanos = System.nanoTime();
 
     public SeasonSystem(World world, Store<EntityStore> store, SeasonWeatherManager weatherManager) {
         this(world, store, weatherManager, null);
@@ -28,6 +29,11 @@ public class SeasonSystem {
         this.grassTintingSystem = grassTintingSystem;
     }
 
+    // called by the season clock, turns the time since this world's clock started into world ticks
+    public void tickClock() {
+        onTick((System.nanoTime() - clockStartNanos) / TICK_NANOS);
+    }
+
     public void onTick(long currentTick) {
         SeasonResource seasonResource = store.getResource(SeasonResource.getResourceType());
         if (seasonResource == null) {
@@ -39,57 +45,30 @@ public class SeasonSystem {
         long daysElapsed = ticksSinceLastUpdate / TICKS_PER_DAY;
 
         if (daysElapsed > 0) {
-            Season oldSeason = seasonResource.getCurrentSeason();
+            Season oldSeason = seasonResource.getCurrentSeason() != null ? seasonResource.getCurrentSeason() : Season.SPRING;
 
             long newTotalDays = seasonResource.getTotalDaysPassed() + daysElapsed;
             seasonResource.setTotalDaysPassed(newTotalDays);
 
-            int newDayOfYear = (int) (newTotalDays % DAYS_PER_YEAR);
-            Season newSeason = Season.getSeasonByDay(newDayOfYear);
+            int newDayOfYear = SeasonCalendar.wrapDay(newTotalDays);
+            Season newSeason = SeasonCalendar.getSeason(newDayOfYear);
 
             seasonResource.setCurrentSeason(newSeason);
-            int dayInSeason = newDayOfYear - newSeason.getStartDay();
+            int dayInSeason = SeasonCalendar.getDayOfSeason(newDayOfYear);
             seasonResource.setDayOfSeason(dayInSeason);
 
             if (!oldSeason.equals(newSeason)) {
-                onSeasonChange(oldSeason, newSeason);
+                SeasonTransitionService.getInstance().publish(world, oldSeason, newSeason, dayInSeason, "Day Cycle");
+            } else {
+                SeasonTransitionService.getInstance().applyBlendedTint(world, newTotalDays);
             }
 
-            lastTickTime = currentTick;
+            // only whole days are consumed, the part of the next day thats already gone by carries over
+            lastTickTime += daysElapsed * TICKS_PER_DAY;
             store.replaceResource(SeasonResource.getResourceType(), seasonResource);
         }
     }
 
-    private void onSeasonChange(Season oldSeason, Season newSeason) {
-        System.out.println("[ARCANE SEASONS] ========================================");
-        System.out.println("[ARCANE SEASONS] SEASON CHANGED");
-        System.out.println("[ARCANE SEASONS] " + oldSeason.getDisplayName() + " -> " + newSeason.getDisplayName());
-        System.out.println("[ARCANE SEASONS] ========================================");
-
-        SeasonChangeEvent event = new SeasonChangeEvent(oldSeason, newSeason);
-
-        if (grassTintingSystem != null) {
-            int tintColor = newSeason.getGrassTintColor();
-            System.out.println("[ARCANE SEASONS] Applying tint color: 0x" + Integer.toHexString(tintColor));
-
-            world.execute(() -> {
-                try {
-                    grassTintingSystem.onSeasonChange(tintColor);
-                    System.out.println("[ARCANE SEASONS] Tinting complete");
-                } catch (Exception e) {
-                    System.err.println("[ARCANE SEASONS] Error during tinting: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            });
-        }
-
-        if (weatherManager != null) {
-            weatherManager.onSeasonChange(newSeason);
-        }
-
-        System.out.println("[ARCANE SEASONS] ========================================");
-    }
-
     public Season getCurrentSeason() {
         try {
             SeasonResource seasonResource = store.getResource(SeasonResource.getResourceType());
@@ -105,28 +84,10 @@ public class SeasonSystem {
 
     public void setCurrentSeason(Season season) {
         try {
-            SeasonResource seasonResource = store.getResource(SeasonResource.getResourceType());
-            if (seasonResource == null) {
-                seasonResource = new SeasonResource();
-            }
-
-            Season oldSeason = seasonResource.getCurrentSeason();
-            seasonResource.setCurrentSeason(season);
-            seasonResource.setDayOfSeason(0);
-            seasonResource.setTotalDaysPassed(season.getStartDay());
-
-            try {
-                store.replaceResource(SeasonResource.getResourceType(), seasonResource);
-            } catch (Exception e) {
-                System.out.println("[ARCANE SEASONS] WARNING: Could not store resource: " + e.getMessage());
-            }
-
-            if (!oldSeason.equals(season)) {
-                onSeasonChange(oldSeason, season);
-            }
+            SeasonTransitionService.getInstance().setSeason(world, store, season, "Season System");
         } catch (Exception e) {
             System.out.println("[ARCANE SEASONS] WARNING: Error in setCurrentSeason: " + e.getMessage());
-            onSeasonChange(Season.SPRING, season);
+            SeasonTransitionService.getInstance().publish(world, Season.SPRING, season, 0, "Season System");
         }
     }
 
@@ -148,6 +109,10 @@ public class SeasonSystem {
         }
     }
 
+    public SeasonWeatherManager getWeatherManager() {
+        return weatherManager;
+    }
+
     public GrassBlockTintingSystem getGrassTintingSystem() {
         return grassTintingSystem;
     }
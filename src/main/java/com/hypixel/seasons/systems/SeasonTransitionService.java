@@ -0,0 +1,251 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.seasons.Season;
+import com.hypixel.seasons.SeasonCalendar;
+import com.hypixel.seasons.SeasonsModule;
+import com.hypixel.seasons.events.SeasonChangeEvent;
+import com.hypixel.seasons.resources.SeasonResource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// the one place season changes go through
+// callers update the season resource through here and the change gets published as a SeasonChangeEvent
+// to every registered listener in priority order (tint first, then weather, then anything else)
+// changes to the same world that land close together are merged, so clicking advance 30 days
+// a few times in a row ends up as one event and one tint rollout from the first season to the last
+public class SeasonTransitionService {
+
+    public static final int PRIORITY_TINT = 0;
+    public static final int PRIORITY_WEATHER = 100;
+    public static final int PRIORITY_DEFAULT = 500;
+
+    // how long we wait for more changes to the same world before dispatching
+    private static final long COALESCE_MILLIS = 250;
+
+    private static final SeasonTransitionService instance = new SeasonTransitionService();
+
+    private static final ScheduledExecutorService DISPATCHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Seasons-Transitions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public interface Listener {
+        // runs on the transition thread, hop to world.execute for anything that touches the world
+        void onSeasonChange(World world, SeasonChangeEvent event);
+    }
+
+    private static class Registration {
+        final int priority;
+        final String name;
+        final Listener listener;
+
+        Registration(int priority, String name, Listener listener) {
+            this.priority = priority;
+            this.name = name;
+            this.listener = listener;
+        }
+    }
+
+    private static class PendingTransition {
+        final World world;
+        final Season fromSeason;
+        Season toSeason;
+        int dayOfSeason;
+        String source;
+        int merged;
+
+        PendingTransition(World world, Season fromSeason) {
+            this.world = world;
+            this.fromSeason = fromSeason;
+        }
+    }
+
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, PendingTransition> pendingByWorld = new HashMap<>();
+
+    private SeasonTransitionService() {
+    }
+
+    public static SeasonTransitionService getInstance() {
+        return instance;
+    }
+
+    // lower priority runs first, same priority keeps registration order
+    public synchronized void register(int priority, String name, Listener listener) {
+        int insertAt = listeners.size();
+        for (int i = 0; i < listeners.size(); i++) {
+            if (listeners.get(i).priority > priority) {
+                insertAt = i;
+                break;
+            }
+        }
+        listeners.add(insertAt, new Registration(priority, name, listener));
+    }
+
+    public synchronized void unregister(Listener listener) {
+        listeners.removeIf(registration -> registration.listener == listener);
+    }
+
+    public synchronized void clearListeners() {
+        listeners.clear();
+    }
+
+    // jumps straight to the start of a season
+    public Season setSeason(World world, Store<EntityStore> store, Season season, String source) {
+        SeasonResource resource = getOrCreateResource(store);
+        Season oldSeason = resource.getCurrentSeason() != null ? resource.getCurrentSeason() : Season.SPRING;
+
+        resource.setCurrentSeason(season);
+        resource.setDayOfSeason(0);
+        resource.setTotalDaysPassed(season.getStartDay());
+        store.replaceResource(SeasonResource.getResourceType(), resource);
+
+        publish(world, oldSeason, season, 0, source);
+        return oldSeason;
+    }
+
+    // moves the calendar forward, only publishes if that crossed into another season
+    public Season advanceDays(World world, Store<EntityStore> store, int days, String source) {
+        SeasonResource resource = getOrCreateResource(store);
+        Season oldSeason = resource.getCurrentSeason() != null ? resource.getCurrentSeason() : Season.SPRING;
+
+        long newTotalDays = resource.getTotalDaysPassed() + days;
+        Season newSeason = SeasonCalendar.getSeason(newTotalDays);
+        int dayInSeason = SeasonCalendar.getDayOfSeason(newTotalDays);
+
+        resource.setTotalDaysPassed(newTotalDays);
+        resource.setCurrentSeason(newSeason);
+        resource.setDayOfSeason(dayInSeason);
+        store.replaceResource(SeasonResource.getResourceType(), resource);
+
+        if (oldSeason != newSeason) {
+            publish(world, oldSeason, newSeason, dayInSeason, source);
+        } else {
+            applyBlendedTint(world, newTotalDays);
+        }
+        return newSeason;
+    }
+
+    // near the end of a season the grass drifts toward the next season's color a step at a time
+    // only starts a rollout on the days where the quantized color actually moves
+    public void applyBlendedTint(World world, long totalDays) {
+        if (world == null) {
+            return;
+        }
+        GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(world.getName());
+        if (tintingSystem == null) {
+            return;
+        }
+
+        int tintColor = SeasonCalendar.getGrassTint(totalDays);
+        if (tintColor == tintingSystem.getCurrentTintColor()) {
+            return;
+        }
+
+        Season season = SeasonCalendar.getSeason(totalDays);
+        System.out.println("[ARCANE SEASONS] " + season.getDisplayName() + " blending toward " +
+            season.getNext().getDisplayName() + ", day " + SeasonCalendar.getDayOfSeason(totalDays) + " tint 0x" + Integer.toHexString(tintColor));
+
+        world.execute(() -> {
+            try {
+                tintingSystem.onTintStep(tintColor);
+            } catch (Exception e) {
+                System.err.println("[ARCANE SEASONS] Error during blended tinting: " + e.getMessage());
+                e.printStackTrace();
+            }
+        });
+    }
+
+    // for callers that already updated the resource themselves (the day cycle)
+    public void publish(World world, Season oldSeason, Season newSeason, int dayOfSeason, String source) {
+        if (world == null || newSeason == null) {
+            return;
+        }
+
+        String worldName = world.getName();
+        boolean schedule = false;
+        synchronized (pendingByWorld) {
+            PendingTransition pending = pendingByWorld.get(worldName);
+            if (pending == null) {
+                pending = new PendingTransition(world, oldSeason != null ? oldSeason : Season.SPRING);
+                pendingByWorld.put(worldName, pending);
+                schedule = true;
+            } else {
+                pending.merged++;
+            }
+            pending.toSeason = newSeason;
+            pending.dayOfSeason = dayOfSeason;
+            pending.source = source;
+        }
+
+        if (schedule) {
+            try {
+                DISPATCHER.schedule(() -> dispatch(worldName), COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                System.err.println("[ARCANE SEASONS] Could not schedule season change for " + worldName + ": " + e.getMessage());
+                dispatch(worldName);
+            }
+        }
+    }
+
+    private void dispatch(String worldName) {
+        PendingTransition pending;
+        synchronized (pendingByWorld) {
+            pending = pendingByWorld.remove(worldName);
+        }
+        if (pending == null) {
+            return;
+        }
+
+        if (pending.merged > 0 && endsOnShownTint(pending)) {
+            // went all the way around (or back and forth) before we got to it and the grass already
+            // has the color this burst ends on, nothing to do
+            System.out.println("[ARCANE SEASONS] " + (pending.merged + 1) + " season changes in " + worldName +
+                " cancelled out, still " + pending.toSeason.getDisplayName());
+            return;
+        }
+
+        SeasonChangeEvent event = new SeasonChangeEvent(
+            pending.fromSeason, pending.toSeason, worldName, pending.dayOfSeason, pending.source);
+
+        System.out.println("[ARCANE SEASONS] ========================================");
+        System.out.println("[ARCANE SEASONS] SEASON CHANGED (" + pending.source + ")");
+        System.out.println("[ARCANE SEASONS] " + pending.fromSeason.getDisplayName() + " -> " + pending.toSeason.getDisplayName() +
+            (pending.merged > 0 ? " (" + (pending.merged + 1) + " changes merged)" : ""));
+        System.out.println("[ARCANE SEASONS] ========================================");
+
+        for (Registration registration : listeners) {
+            try {
+                registration.listener.onSeasonChange(pending.world, event);
+            } catch (Exception e) {
+                System.err.println("[ARCANE SEASONS] Season change listener " + registration.name + " failed: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // compares the color the burst lands on (season and day) with what the world is showing, so landing
+    // on the same season but another day still goes out. worlds without tinting only have the season to go by
+    private boolean endsOnShownTint(PendingTransition pending) {
+        GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(pending.world.getName());
+        if (tintingSystem == null) {
+            return pending.fromSeason == pending.toSeason;
+        }
+        return pending.toSeason.getGrassTintForDay(pending.dayOfSeason) == tintingSystem.getCurrentTintColor();
+    }
+
+    private SeasonResource getOrCreateResource(Store<EntityStore> store) {
+        SeasonResource resource = store.getResource(SeasonResource.getResourceType());
+        return resource != null ? resource : new SeasonResource();
+    }
+}
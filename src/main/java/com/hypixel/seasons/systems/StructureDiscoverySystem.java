@@ -0,0 +1,81 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.ResourceType;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.DelayedEntitySystem;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.seasons.structures.SeasonStructureInitializer;
+import com.hypixel.seasons.structures.StructureDataResource;
+import com.hypixel.seasons.structures.StructureDiscoveryEngine;
+
+import java.util.List;
+import java.util.UUID;
+
+// feeds player positions into the discovery engine of their world and writes its batches to the world's
+// structure data, the engine only does real work when someone steps into a chunk near a structure
+public class StructureDiscoverySystem extends DelayedEntitySystem<EntityStore> {
+
+    public StructureDiscoverySystem() {
+        super(0.25f);
+    }
+
+    @Override
+    public void tick(float dt, int index, ArchetypeChunk<EntityStore> archetypeChunk,
+                     Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+
+        Ref<EntityStore> playerRef = archetypeChunk.getReferenceTo(index);
+        Player player = store.getComponent(playerRef, Player.getComponentType());
+        TransformComponent transform = store.getComponent(playerRef, TransformComponent.getComponentType());
+
+        if (player == null || transform == null) {
+            return;
+        }
+
+        World world = player.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        StructureDiscoveryEngine engine = SeasonStructureInitializer.get().getDiscoveryEngine(world);
+        if (engine == null) {
+            return;
+        }
+
+        Vector3d position = transform.getPosition();
+        UUID playerId = player.getUuid();
+        if (position == null || playerId == null) {
+            return;
+        }
+
+        try {
+            ResourceType<EntityStore, StructureDataResource> resourceType = StructureDataResource.getResourceType();
+            StructureDataResource data = resourceType != null ? store.getResource(resourceType) : null;
+
+            engine.onPlayerPosition(playerId, MathUtil.floor(position.x), MathUtil.floor(position.z), data);
+
+            if (data != null && engine.hasPending()) {
+                List<StructureDiscoveryEngine.Discovery> fresh = engine.flushIfDue(data, System.currentTimeMillis());
+                for (StructureDiscoveryEngine.Discovery discovery : fresh) {
+                    System.out.println("[ARCANE SEASONS] Player " + discovery.playerId + " discovered " +
+                            discovery.structureId + " in " + world.getName());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Error checking structure discovery: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Query.and(Player.getComponentType(), TransformComponent.getComponentType());
+    }
+}
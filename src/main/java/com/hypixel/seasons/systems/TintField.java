@@ -0,0 +1,205 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.worldgen.biome.Biome;
+import com.hypixel.hytale.server.worldgen.chunk.ChunkGenerator;
+import com.hypixel.hytale.server.worldgen.chunk.ZoneBiomeResult;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// works out a grass color for every column of a chunk from biome, terrain height and a bit of noise
+// biome and height come from the world generator on a coarse grid (every 8 blocks) and get
+// spread over the columns in between, then each column is a single palette lookup
+// what a column looks up (its palette slot) doesnt depend on the color, so the slots of recent chunks
+// are kept in a bounded LRU and a season change or blend step only redoes the lookups, not the sampling
+// the math runs on a small shared worker pool, callers only write the finished colors on the world thread
+// chunk pre-load calls compute directly, once a chunk was sampled thats just the palette lookups
+// worlds without a normal generator (void echo worlds) just get the noise
+public class TintField {
+
+    public static final int COLUMNS = 32 * 32;
+
+    private static final int CHUNK_SIZE = 32;
+    private static final int SAMPLE_STEP = 8;
+    private static final int SAMPLES = CHUNK_SIZE / SAMPLE_STEP + 1;     // 5x5 grid, edges included
+    private static final int NOISE_CELL = 16;
+    private static final int DEFAULT_HEIGHT = 64;
+    private static final int MAX_SLOT_CHUNKS = 4096;     // 1KB each
+
+    private static final AtomicInteger WORKER_IDS = new AtomicInteger();
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+        runnable -> {
+            Thread thread = new Thread(runnable, "Seasons-TintField-" + WORKER_IDS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    private final World world;
+    private volatile boolean generatorResolved;
+    private volatile ChunkGenerator generator;
+    private volatile int seed;
+    private final Map<Long, byte[]> slotCache = new LinkedHashMap<Long, byte[]>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+            return size() > MAX_SLOT_CHUNKS;
+        }
+    };    // guarded by itself
+
+    public TintField(World world) {
+        this.world = world;
+    }
+
+    // computes the columns on the worker pool, the future completes off the world thread
+    public CompletableFuture<int[]> computeAsync(int chunkX, int chunkZ, int baseColor) {
+        return CompletableFuture.supplyAsync(() -> compute(chunkX, chunkZ, baseColor, new int[COLUMNS]), WORKERS);
+    }
+
+    // fills out[x * 32 + z] with the color for each column, safe to call from any thread
+    public int[] compute(int chunkX, int chunkZ, int baseColor, int[] out) {
+        TintPalette palette = TintPalette.forColor(baseColor);
+        byte[] slots = slotsFor(chunkX, chunkZ);
+        for (int i = 0; i < COLUMNS; i++) {
+            out[i] = palette.at(slots[i]);
+        }
+        return out;
+    }
+
+    // palette slot per column, sampled outside the lock, a chunk that two threads raced on keeps the first
+    private byte[] slotsFor(int chunkX, int chunkZ) {
+        long key = ChunkUtil.indexChunk(chunkX, chunkZ);
+        synchronized (slotCache) {
+            byte[] cached = slotCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        byte[] slots = sampleSlots(chunkX, chunkZ);
+        synchronized (slotCache) {
+            byte[] raced = slotCache.get(key);
+            if (raced != null) {
+                return raced;
+            }
+            slotCache.put(key, slots);
+        }
+        return slots;
+    }
+
+    private byte[] sampleSlots(int chunkX, int chunkZ) {
+        resolveGenerator();
+
+        int originX = chunkX * CHUNK_SIZE;
+        int originZ = chunkZ * CHUNK_SIZE;
+
+        int[] heights = new int[SAMPLES * SAMPLES];
+        int[] buckets = new int[SAMPLES * SAMPLES];
+        sampleGrid(originX, originZ, heights, buckets);
+
+        byte[] slots = new byte[COLUMNS];
+        for (int x = 0; x < CHUNK_SIZE; x++) {
+            int cellX = x / SAMPLE_STEP;
+            float fx = (x % SAMPLE_STEP) / (float) SAMPLE_STEP;
+            int nearestX = fx < 0.5f ? cellX : cellX + 1;
+
+            for (int z = 0; z < CHUNK_SIZE; z++) {
+                int cellZ = z / SAMPLE_STEP;
+                float fz = (z % SAMPLE_STEP) / (float) SAMPLE_STEP;
+                int nearestZ = fz < 0.5f ? cellZ : cellZ + 1;
+
+                // height blends smoothly between samples, biome just takes the closest one
+                float h00 = heights[cellX * SAMPLES + cellZ];
+                float h10 = heights[(cellX + 1) * SAMPLES + cellZ];
+                float h01 = heights[cellX * SAMPLES + cellZ + 1];
+                float h11 = heights[(cellX + 1) * SAMPLES + cellZ + 1];
+                float top = h00 + (h10 - h00) * fx;
+                float bottom = h01 + (h11 - h01) * fx;
+                int height = Math.round(top + (bottom - top) * fz);
+
+                int bucket = buckets[nearestX * SAMPLES + nearestZ];
+                int noise = noiseLevel(originX + x, originZ + z);
+
+                slots[x * CHUNK_SIZE + z] = (byte) TintPalette.slot(bucket, TintPalette.heightBand(height), noise);
+            }
+        }
+        return slots;
+    }
+
+    private void sampleGrid(int originX, int originZ, int[] heights, int[] buckets) {
+        ChunkGenerator gen = generator;
+        for (int sx = 0; sx < SAMPLES; sx++) {
+            for (int sz = 0; sz < SAMPLES; sz++) {
+                int i = sx * SAMPLES + sz;
+                heights[i] = DEFAULT_HEIGHT;
+                buckets[i] = TintPalette.BIOME_NEUTRAL;
+                if (gen == null) continue;
+
+                int worldX = originX + sx * SAMPLE_STEP;
+                int worldZ = originZ + sz * SAMPLE_STEP;
+                try {
+                    heights[i] = gen.getHeight(seed, worldX, worldZ);
+                    ZoneBiomeResult zb = gen.getZoneBiomeResultAt(seed, worldX, worldZ);
+                    Biome biome = zb != null ? zb.getBiome() : null;
+                    if (biome != null) {
+                        buckets[i] = TintPalette.biomeBucket(biome.getName());
+                    }
+                } catch (Exception e) {
+                    // generator hiccup, this sample just stays neutral
+                }
+            }
+        }
+    }
+
+    private void resolveGenerator() {
+        if (generatorResolved) {
+            return;
+        }
+        try {
+            seed = (int) world.getWorldConfig().getSeed();
+            Object worldGenObj = world.getChunkStore().getGenerator();
+            if (worldGenObj instanceof ChunkGenerator) {
+                generator = (ChunkGenerator) worldGenObj;
+            }
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Tint field could not reach the world generator for " +
+                world.getName() + ", using noise only: " + e.getMessage());
+        }
+        generatorResolved = true;
+    }
+
+    // smooth value noise on a 16 block grid, bucketed into the palette's noise levels
+    private int noiseLevel(int worldX, int worldZ) {
+        int cellX = Math.floorDiv(worldX, NOISE_CELL);
+        int cellZ = Math.floorDiv(worldZ, NOISE_CELL);
+        float fx = smooth(Math.floorMod(worldX, NOISE_CELL) / (float) NOISE_CELL);
+        float fz = smooth(Math.floorMod(worldZ, NOISE_CELL) / (float) NOISE_CELL);
+
+        float v00 = cellValue(cellX, cellZ);
+        float v10 = cellValue(cellX + 1, cellZ);
+        float v01 = cellValue(cellX, cellZ + 1);
+        float v11 = cellValue(cellX + 1, cellZ + 1);
+        float top = v00 + (v10 - v00) * fx;
+        float bottom = v01 + (v11 - v01) * fx;
+        float value = top + (bottom - top) * fz;
+
+        return Math.min(TintPalette.NOISE_LEVELS - 1, (int) (value * TintPalette.NOISE_LEVELS));
+    }
+
+    private float cellValue(int cellX, int cellZ) {
+        long h = seed * 0x9E3779B97F4A7C15L + cellX * 0xC2B2AE3D27D4EB4FL + cellZ * 0x165667B19E3779F9L;
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 32;
+        return (h >>> 40) / (float) (1 << 24);
+    }
+
+    private static float smooth(float t) {
+        return t * t * (3 - 2 * t);
+    }
+}
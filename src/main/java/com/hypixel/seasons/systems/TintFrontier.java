@@ -0,0 +1,107 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.math.util.ChunkUtil;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+// follows each player's chunk coordinate and hands the rollout only the strip of chunks
+// that just came into view when they cross a chunk border
+// so the cost scales with how much people move, not with render area x player count
+// world thread only
+public class TintFrontier {
+
+    private static final long STALE_AFTER_MS = 60_000;
+    private static final long SWEEP_INTERVAL_MS = 30_000;
+
+    private final TintRolloutScheduler rolloutScheduler;
+    private final int renderDistance;
+    private final Map<UUID, Tracked> tracked = new HashMap<>();
+    private long lastSweep = System.currentTimeMillis();
+
+    private static class Tracked {
+        int chunkX;
+        int chunkZ;
+        long lastSeen;
+    }
+
+    public TintFrontier(TintRolloutScheduler rolloutScheduler, int renderDistance) {
+        this.rolloutScheduler = rolloutScheduler;
+        this.renderDistance = renderDistance;
+    }
+
+    // returns how many chunks got handed to the rollout
+    public int onPlayerPosition(UUID playerId, int chunkX, int chunkZ) {
+        long now = System.currentTimeMillis();
+        sweepIfDue(now);
+
+        Tracked entry = tracked.get(playerId);
+        if (entry == null) {
+            // first time we see them, the join handler already covered their whole view
+            entry = new Tracked();
+            entry.chunkX = chunkX;
+            entry.chunkZ = chunkZ;
+            entry.lastSeen = now;
+            tracked.put(playerId, entry);
+            return 0;
+        }
+
+        entry.lastSeen = now;
+        if (entry.chunkX == chunkX && entry.chunkZ == chunkZ) {
+            return 0;
+        }
+
+        int exposed = enqueueExposed(entry.chunkX, entry.chunkZ, chunkX, chunkZ);
+        entry.chunkX = chunkX;
+        entry.chunkZ = chunkZ;
+        return exposed;
+    }
+
+    public void forgetPlayer(UUID playerId) {
+        tracked.remove(playerId);
+    }
+
+    public int getTrackedCount() {
+        return tracked.size();
+    }
+
+    // everything in the new view square that wasnt in the old one
+    // a teleport that jumps further than the view just gives back the whole new square
+    private int enqueueExposed(int oldX, int oldZ, int newX, int newZ) {
+        int r = renderDistance;
+        int oldMinX = oldX - r, oldMaxX = oldX + r;
+        int oldMinZ = oldZ - r, oldMaxZ = oldZ + r;
+
+        int count = 0;
+        for (int x = newX - r; x <= newX + r; x++) {
+            boolean columnWasVisible = x >= oldMinX && x <= oldMaxX;
+            for (int z = newZ - r; z <= newZ + r; z++) {
+                if (columnWasVisible && z >= oldMinZ && z <= oldMaxZ) {
+                    // skip straight past the overlapping part of the column
+                    z = oldMaxZ;
+                    continue;
+                }
+                if (rolloutScheduler.enqueue(ChunkUtil.indexChunk(x, z))) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private void sweepIfDue(long now) {
+        if (now - lastSweep < SWEEP_INTERVAL_MS) {
+            return;
+        }
+        lastSweep = now;
+
+        Iterator<Tracked> it = tracked.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().lastSeen > STALE_AFTER_MS) {
+                it.remove();
+            }
+        }
+    }
+}
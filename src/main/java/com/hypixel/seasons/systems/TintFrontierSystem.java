@@ -0,0 +1,74 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.DelayedEntitySystem;
+import com.hypixel.hytale.math.util.MathUtil;
+import com.hypixel.hytale.math.vector.Vector3d;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.modules.entity.component.TransformComponent;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.hypixel.seasons.SeasonsModule;
+
+import java.util.UUID;
+
+// feeds player chunk positions into the tint frontier of whatever echo world theyre in
+// only chunk border crossings cost anything, standing still is a couple of compares
+public class TintFrontierSystem extends DelayedEntitySystem<EntityStore> {
+
+    public TintFrontierSystem() {
+        super(0.25f);
+    }
+
+    @Override
+    public void tick(float dt, int index, ArchetypeChunk<EntityStore> archetypeChunk,
+                     Store<EntityStore> store, CommandBuffer<EntityStore> commandBuffer) {
+
+        Ref<EntityStore> playerRef = archetypeChunk.getReferenceTo(index);
+        Player player = store.getComponent(playerRef, Player.getComponentType());
+        TransformComponent transform = store.getComponent(playerRef, TransformComponent.getComponentType());
+
+        if (player == null || transform == null) {
+            return;
+        }
+
+        World world = player.getWorld();
+        if (world == null) {
+            return;
+        }
+
+        // non echo worlds dont have a tinting system
+        GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(world.getName());
+        if (tintingSystem == null) {
+            return;
+        }
+
+        Vector3d position = transform.getPosition();
+        if (position == null) {
+            return;
+        }
+
+        try {
+            UUID playerId = player.getUuid();
+            if (playerId == null) {
+                return;
+            }
+
+            int chunkX = MathUtil.floor(position.x) >> 5;
+            int chunkZ = MathUtil.floor(position.z) >> 5;
+            tintingSystem.getFrontier().onPlayerPosition(playerId, chunkX, chunkZ);
+            tintingSystem.sweepLedger();
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Error updating tint frontier: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Query.and(Player.getComponentType(), TransformComponent.getComponentType());
+    }
+}
@@ -0,0 +1,147 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.seasons.Season;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// every grass color a season tint can turn into, worked out once up front
+// a column just looks up (biome bucket, height band, noise level) instead of doing color math
+// palettes are immutable and cached per base color so the worker threads can share them
+public final class TintPalette {
+
+    public static final int BIOME_NEUTRAL = 0;
+    public static final int BIOME_LUSH = 1;
+    public static final int BIOME_DRY = 2;
+    public static final int BIOME_COLD = 3;
+    public static final int BIOME_COASTAL = 4;
+    public static final int BIOME_BUCKETS = 5;
+
+    public static final int HEIGHT_BANDS = 6;
+    public static final int NOISE_LEVELS = 4;
+    public static final int SLOTS = BIOME_BUCKETS * HEIGHT_BANDS * NOISE_LEVELS;     // fits in a byte
+
+    // what each biome bucket leans toward and how hard
+    private static final int[] BIOME_TARGET = {0, 0xFF1E8449, 0xFFC8B560, 0xFFDDE6E8, 0xFF7FB3A0};
+    private static final float[] BIOME_WEIGHT = {0f, 0.15f, 0.25f, 0.20f, 0.10f};
+
+    // band upper bounds in blocks, the last band is everything above
+    private static final int[] HEIGHT_BAND_TOPS = {56, 72, 96, 128, 160};
+    private static final int HIGH_ALTITUDE = 0xFFB0B8B0;    // washed out grey green up on the peaks
+    private static final float[] NOISE_BRIGHTNESS = {0.94f, 0.98f, 1.02f, 1.06f};
+
+    private static final int MAX_CACHED = 64;
+    private static final Map<Integer, TintPalette> CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> BIOME_BUCKET_CACHE = new ConcurrentHashMap<>();
+
+    private final int baseColor;
+    private final int[] lut = new int[SLOTS];
+
+    private TintPalette(int baseColor) {
+        this.baseColor = baseColor;
+
+        for (int biome = 0; biome < BIOME_BUCKETS; biome++) {
+            int biomeColor = Season.blendColor(baseColor, BIOME_TARGET[biome], BIOME_WEIGHT[biome]);
+
+            for (int band = 0; band < HEIGHT_BANDS; band++) {
+                // lowest band is a touch darker, then it fades toward grey the higher you go
+                int bandColor = band == 0
+                    ? scaleBrightness(biomeColor, 0.95f)
+                    : Season.blendColor(biomeColor, HIGH_ALTITUDE, (band - 1) * 0.06f);
+
+                for (int noise = 0; noise < NOISE_LEVELS; noise++) {
+                    lut[index(biome, band, noise)] = scaleBrightness(bandColor, NOISE_BRIGHTNESS[noise]);
+                }
+            }
+        }
+    }
+
+    public static TintPalette forColor(int baseColor) {
+        TintPalette palette = CACHE.get(baseColor);
+        if (palette != null) {
+            return palette;
+        }
+        // only a handful of colors are ever live (seasons x blend steps), this is just a safety net
+        if (CACHE.size() >= MAX_CACHED) {
+            CACHE.clear();
+        }
+        return CACHE.computeIfAbsent(baseColor, TintPalette::new);
+    }
+
+    public int getBaseColor() {
+        return baseColor;
+    }
+
+    public int lookup(int biomeBucket, int heightBand, int noiseLevel) {
+        return lut[index(biomeBucket, heightBand, noiseLevel)];
+    }
+
+    // (biome bucket, height band, noise level) folded into one small number, same for every palette
+    // so a column can be worked out once and then recolored for any base color
+    public static int slot(int biomeBucket, int heightBand, int noiseLevel) {
+        return index(biomeBucket, heightBand, noiseLevel);
+    }
+
+    public int at(int slot) {
+        return lut[slot];
+    }
+
+    // true if some column tinted with this palette would carry exactly this color
+    // lets a chunk loaded from disk show which base color it was saved with
+    public boolean contains(int color) {
+        for (int entry : lut) {
+            if (entry == color) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int heightBand(int height) {
+        for (int band = 0; band < HEIGHT_BAND_TOPS.length; band++) {
+            if (height < HEIGHT_BAND_TOPS[band]) {
+                return band;
+            }
+        }
+        return HEIGHT_BANDS - 1;
+    }
+
+    // rough grouping by biome name, good enough to nudge the color
+    public static int biomeBucket(String biomeName) {
+        if (biomeName == null) {
+            return BIOME_NEUTRAL;
+        }
+        Integer cached = BIOME_BUCKET_CACHE.get(biomeName);
+        if (cached != null) {
+            return cached;
+        }
+
+        String name = biomeName.toLowerCase(Locale.ROOT);
+        int bucket = BIOME_NEUTRAL;
+        if (name.contains("desert") || name.contains("savanna") || name.contains("dry") || name.contains("badland")) {
+            bucket = BIOME_DRY;
+        } else if (name.contains("snow") || name.contains("tundra") || name.contains("ice") || name.contains("taiga")) {
+            bucket = BIOME_COLD;
+        } else if (name.contains("ocean") || name.contains("beach") || name.contains("coast") || name.contains("shore")) {
+            bucket = BIOME_COASTAL;
+        } else if (name.contains("forest") || name.contains("jungle") || name.contains("swamp") || name.contains("marsh")) {
+            bucket = BIOME_LUSH;
+        }
+
+        BIOME_BUCKET_CACHE.put(biomeName, bucket);
+        return bucket;
+    }
+
+    private static int index(int biome, int band, int noise) {
+        return (biome * HEIGHT_BANDS + band) * NOISE_LEVELS + noise;
+    }
+
+    private static int scaleBrightness(int color, float factor) {
+        int alpha = color & 0xFF000000;
+        int r = Math.min(255, Math.round(((color >>> 16) & 0xFF) * factor));
+        int g = Math.min(255, Math.round(((color >>> 8) & 0xFF) * factor));
+        int b = Math.min(255, Math.round((color & 0xFF) * factor));
+        return alpha | (r << 16) | (g << 8) | b;
+    }
+}
@@ -0,0 +1,241 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.seasons.util.LongArrayList;
+import com.hypixel.seasons.util.LongHashSet;
+
+// spreads a season change tint pass over many ticks instead of doing every chunk in one go
+// chunks closest to each player go first so people see the change around them right away
+// budget is a chunk count per tick (0 = unlimited). the writes themselves are paced by the
+// time budget on the tinting system's write-back queue, which is where the world thread cost is
+public class TintRolloutScheduler {
+
+    public static final int DEFAULT_CHUNKS_PER_TICK = 48;
+
+    private final World world;
+    private final GrassBlockTintingSystem tintingSystem;
+    private final WorldTickPump pump;
+
+    // pending chunks in order, consumed from head. both buffers are reused between rollouts
+    private final LongArrayList queue = new LongArrayList(2048);
+    private final LongHashSet queued = new LongHashSet(2048);
+    private int head;
+
+    private volatile int chunksPerTick = DEFAULT_CHUNKS_PER_TICK;
+
+    // state of the rollout thats currently running, only touched on the world thread
+    private int rolloutColor;
+    private int total;
+    private int processed;
+    private int tinted;
+    private int ticks;
+    private long startedAtNanos;
+    private boolean running;
+    private boolean announce;       // full season rollouts get logged, small frontier top ups dont
+
+    private volatile Progress progress = Progress.idle();
+
+    public TintRolloutScheduler(World world, GrassBlockTintingSystem tintingSystem) {
+        this.world = world;
+        this.tintingSystem = tintingSystem;
+        this.pump = new WorldTickPump(world, "tint rollout", this::step);
+    }
+
+    public void setChunksPerTick(int chunksPerTick) {
+        this.chunksPerTick = Math.max(0, chunksPerTick);
+    }
+
+    public int getChunksPerTick() {
+        return chunksPerTick;
+    }
+
+    public Progress getProgress() {
+        return progress;
+    }
+
+    public boolean isRunning() {
+        return progress.isRunning();
+    }
+
+    // starts a fresh rollout, anything still queued from an older one is dropped
+    // has to be called on the world thread
+    public void start(int tintColor) {
+        queue.clear();
+        queued.clear();
+        head = 0;
+        beginRun(tintColor, true);
+
+        ChunkVisibilityGatherer gatherer = tintingSystem.getVisibilityGatherer();
+        gatherer.gather(world, GrassBlockTintingSystem.RENDER_DISTANCE);
+        LongArrayList nearestFirst = gatherer.ordered();
+        for (int i = 0; i < nearestFirst.size(); i++) {
+            long chunkIndex = nearestFirst.get(i);
+            if (queued.add(chunkIndex)) {
+                queue.add(chunkIndex);
+            }
+        }
+        this.total = queue.size();
+
+        if (total == 0) {
+            running = false;
+            publishProgress();
+            return;
+        }
+
+        running = true;
+        publishProgress();
+
+        System.out.println("[ARCANE SEASONS] Tint rollout started: " + total + " chunks queued for color 0x" +
+            Integer.toHexString(tintColor) + " (budget " + describeBudget() + " per tick)");
+
+        pump.wake();
+    }
+
+    // tops up the queue with one chunk, used by the movement frontier
+    // if nothing is running this quietly starts a small run with the current color
+    // returns false if the chunk was already waiting. world thread only
+    public boolean enqueue(long chunkIndex) {
+        if (queued.contains(chunkIndex)) {
+            return false;
+        }
+
+        if (!running) {
+            beginRun(tintingSystem.getCurrentTintColor(), false);
+            running = true;
+        }
+
+        queued.add(chunkIndex);
+        queue.add(chunkIndex);
+        total++;
+        pump.wake();
+        return true;
+    }
+
+    private void beginRun(int tintColor, boolean announce) {
+        this.rolloutColor = tintColor;
+        this.announce = announce;
+        this.total = 0;
+        this.processed = 0;
+        this.tinted = 0;
+        this.ticks = 0;
+        this.startedAtNanos = System.nanoTime();
+    }
+
+    // one tick worth of work, returns true if theres more left for the next tick
+    private boolean step() {
+        if (!running) {
+            return false;
+        }
+
+        int chunkBudget = chunksPerTick > 0 ? chunksPerTick : Integer.MAX_VALUE;
+
+        int tintedThisTick = 0;
+
+        while (head < queue.size() && tintedThisTick < chunkBudget) {
+            long chunkIndex = queue.get(head++);
+            queued.remove(chunkIndex);
+            processed++;
+
+            // unloaded or already tinted chunks are basically free to skip so they dont count against the budget
+            if (world.getChunkIfInMemory(chunkIndex) == null) continue;
+
+            // the colors get computed on the tint field workers, the budget keeps them from being swamped
+            if (!tintingSystem.requestTint(chunkIndex, rolloutColor)) continue;
+            tinted++;
+            tintedThisTick++;
+        }
+
+        ticks++;
+
+        if (head >= queue.size()) {
+            queue.clear();
+            head = 0;
+            running = false;
+            publishProgress();
+            if (!announce) {
+                return false;
+            }
+            System.out.println("[ARCANE SEASONS] Tint rollout finished: " + tinted + " chunks sent for tinting with color 0x" +
+                Integer.toHexString(rolloutColor) + " over " + ticks + " ticks (" + progress.getElapsedMillis() + "ms)");
+            return false;
+        }
+
+        // dont let the consumed part of the queue grow forever on long rollouts
+        if (head > 1024 && head * 2 > queue.size()) {
+            queue.removeHead(head);
+            head = 0;
+        }
+
+        publishProgress();
+        return true;
+    }
+
+    private void publishProgress() {
+        long elapsedMillis = (System.nanoTime() - startedAtNanos) / 1_000_000L;
+        this.progress = new Progress(running, rolloutColor, total, processed, tinted, ticks, elapsedMillis);
+    }
+
+    private String describeBudget() {
+        long micros = tintingSystem.getWriteBacks().getMicrosPerTick();
+        String chunks = chunksPerTick > 0 ? chunksPerTick + " chunks" : "unlimited chunks";
+        String time = micros > 0 ? micros + "us of writes" : "no write time limit";
+        return chunks + " / " + time;
+    }
+
+    // immutable snapshot so other threads (commands, ui) can read it without locking
+    public static class Progress {
+        private final boolean running;
+        private final int tintColor;
+        private final int total;
+        private final int processed;
+        private final int tinted;
+        private final int ticks;
+        private final long elapsedMillis;
+
+        public Progress(boolean running, int tintColor, int total, int processed, int tinted, int ticks, long elapsedMillis) {
+            this.running = running;
+            this.tintColor = tintColor;
+            this.total = total;
+            this.processed = processed;
+            this.tinted = tinted;
+            this.ticks = ticks;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        static Progress idle() {
+            return new Progress(false, 0, 0, 0, 0, 0, 0);
+        }
+
+        public boolean isRunning() {
+            return running;
+        }
+
+        public int getTintColor() {
+            return tintColor;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getProcessed() {
+            return processed;
+        }
+
+        public int getTinted() {
+            return tinted;
+        }
+
+        public int getTicks() {
+            return ticks;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public float getFraction() {
+            return total == 0 ? 1.0f : processed / (float) total;
+        }
+    }
+}
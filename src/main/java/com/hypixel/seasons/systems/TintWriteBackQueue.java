@@ -0,0 +1,101 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// finished tint field results waiting for their setTint writes on the world thread
+// the workers hand results in whenever they finish, so a big rollout could land hundreds of chunks
+// worth of writes in one tick if each one went straight to world.execute. instead they queue up here
+// and get written a few per tick under a time budget in microseconds (0 = no limit)
+public class TintWriteBackQueue {
+
+    public static final long DEFAULT_MICROS_PER_TICK = 2000;
+
+    // world thread side, does the actual writes for one chunk
+    public interface Writer {
+        void write(long chunkIndex, int tintColor, int[] columns);
+    }
+
+    private static final class Result {
+        final long chunkIndex;
+        final int tintColor;
+        final int[] columns;
+
+        Result(long chunkIndex, int tintColor, int[] columns) {
+            this.chunkIndex = chunkIndex;
+            this.tintColor = tintColor;
+            this.columns = columns;
+        }
+    }
+
+    private final Writer writer;
+    private final WorldTickPump pump;
+    private final ConcurrentLinkedQueue<Result> results = new ConcurrentLinkedQueue<>();
+
+    private volatile long microsPerTick = DEFAULT_MICROS_PER_TICK;
+
+    // running totals, only for debugging / the season command
+    private volatile long writtenCount;
+    private volatile long deferredTicks;
+
+    public TintWriteBackQueue(World world, Writer writer) {
+        this.writer = writer;
+        this.pump = new WorldTickPump(world, "tint write-back", this::drain);
+    }
+
+    public void setMicrosPerTick(long microsPerTick) {
+        this.microsPerTick = Math.max(0, microsPerTick);
+    }
+
+    public long getMicrosPerTick() {
+        return microsPerTick;
+    }
+
+    public int getPendingCount() {
+        return results.size();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount;
+    }
+
+    public long getDeferredTicks() {
+        return deferredTicks;
+    }
+
+    // safe from any thread, the worker callbacks call this
+    public void submit(long chunkIndex, int tintColor, int[] columns) {
+        results.add(new Result(chunkIndex, tintColor, columns));
+        pump.wake();
+    }
+
+    // one tick worth of writes, returns true if some had to wait for the next tick
+    private boolean drain() {
+        long budgetNanos = microsPerTick * 1000L;
+        long tickStart = System.nanoTime();
+        int written = 0;
+
+        Result result;
+        while ((result = results.poll()) != null) {
+            try {
+                writer.write(result.chunkIndex, result.tintColor, result.columns);
+            } catch (Exception e) {
+                System.err.println("[ARCANE SEASONS] Error writing tint for chunk " + result.chunkIndex + ": " + e.getMessage());
+            }
+            written++;
+
+            // always at least one per tick so a tiny budget cant stall the queue
+            if (budgetNanos > 0 && System.nanoTime() - tickStart >= budgetNanos) {
+                break;
+            }
+        }
+
+        writtenCount += written;
+        if (results.isEmpty()) {
+            return false;
+        }
+        deferredTicks++;
+        return true;
+    }
+}
@@ -0,0 +1,78 @@
+package com.hypixel.seasons.systems;
+
+import com.hypixel.hytale.server.core.universe.world.World;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+// runs a step function on the world thread roughly once per server tick until the step says its done
+// calling world.execute from inside a world task can land in the same tick, so we bounce
+// through a tiny timer thread to make sure each step gets its own tick
+public class WorldTickPump {
+
+    public static final long TICK_MILLIS = 50;     // 20 tps
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Seasons-TickPump");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final World world;
+    private final String name;
+    private final BooleanSupplier step;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    // step returns true when it still has work left for the next tick
+    public WorldTickPump(World world, String name, BooleanSupplier step) {
+        this.world = world;
+        this.name = name;
+        this.step = step;
+    }
+
+    // safe from any thread, calling it again while a step is already pending does nothing
+    public void wake() {
+        if (world == null || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            TIMER.schedule(this::dispatch, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            scheduled.set(false);
+            System.err.println("[ARCANE SEASONS] Could not schedule " + name + ": " + e.getMessage());
+        }
+    }
+
+    public boolean isScheduled() {
+        return scheduled.get();
+    }
+
+    private void dispatch() {
+        try {
+            world.execute(this::runStep);
+        } catch (Exception e) {
+            scheduled.set(false);
+            System.err.println("[ARCANE SEASONS] Could not dispatch " + name + " to world thread: " + e.getMessage());
+        }
+    }
+
+    private void runStep() {
+        scheduled.set(false);
+
+        boolean moreWork;
+        try {
+            moreWork = step.getAsBoolean();
+        } catch (Exception e) {
+            System.err.println("[ARCANE SEASONS] Error in " + name + ": " + e.getMessage());
+            e.printStackTrace();
+            moreWork = false;
+        }
+
+        if (moreWork) {
+            wake();
+        }
+    }
+}
@@ -21,7 +21,7 @@ import com.hypixel.seasons.components.PlayerSeasonProgress;
 import com.hypixel.seasons.echo.Echo;
 import com.hypixel.seasons.echo.EchoManager;
 import com.hypixel.seasons.resources.SeasonResource;
-import com.hypixel.seasons.systems.GrassBlockTintingSystem;
+import com.hypixel.seasons.systems.SeasonTransitionService;
 
 public class SeasonDebugUI extends InteractiveCustomUIPage<SeasonDebugUI.DebugData> {
 
@@ -139,40 +139,13 @@ public class SeasonDebugUI extends InteractiveCustomUIPage<SeasonDebugUI.DebugDa
         return Season.SPRING;
     }
 
-    private void setSeasonAndTint(Store<EntityStore> store, Season oldSeason, Season newSeason) {
+    private void setSeasonAndTint(Store<EntityStore> store, Season newSeason) {
         try {
-            SeasonResource resource = store.getResource(SeasonResource.getResourceType());
-            if (resource == null) {
-                resource = new SeasonResource();
-            }
+            SeasonTransitionService.getInstance().setSeason(world, store, newSeason, "Debug Panel");
 
-            resource.setCurrentSeason(newSeason);
-            resource.setDayOfSeason(0);
-            resource.setTotalDaysPassed(newSeason.getStartDay());
-
-            store.replaceResource(SeasonResource.getResourceType(), resource);
-
-            System.out.println("[ARCANE SEASONS] ========================================");
-            System.out.println("[ARCANE SEASONS] SEASON CHANGED (Debug Panel)");
-            System.out.println("[ARCANE SEASONS] " + oldSeason.getDisplayName() + " -> " + newSeason.getDisplayName());
-            System.out.println("[ARCANE SEASONS] ========================================");
-
-            GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(world.getName());
-            if (tintingSystem != null) {
-                int tintColor = newSeason.getGrassTintColor();
-                System.out.println("[ARCANE SEASONS] Applying tint color: 0x" + Integer.toHexString(tintColor));
-                world.execute(() -> {
-                    try {
-                        tintingSystem.onSeasonChange(tintColor);
-                        System.out.println("[ARCANE SEASONS] Tinting complete");
-                    } catch (Exception e) {
-                        System.err.println("[ARCANE SEASONS] Error during tinting: " + e.getMessage());
-                    }
-                });
-            } else {
+            if (SeasonsModule.getTintingSystemForWorld(world.getName()) == null) {
                 System.out.println("[ARCANE SEASONS] WARNING: No tinting system found for world: " + world.getName());
             }
-
         } catch (Exception e) {
             System.err.println("[ARCANE SEASONS] Error setting season: " + e.getMessage());
             e.printStackTrace();
@@ -182,8 +155,7 @@ public class SeasonDebugUI extends InteractiveCustomUIPage<SeasonDebugUI.DebugDa
     private void changeSeason(Store<EntityStore> store, String seasonName) {
         Season season = Season.getSeasonByName(seasonName);
         if (season != null) {
-            Season oldSeason = getCurrentSeason(store);
-            setSeasonAndTint(store, oldSeason, season);
+            setSeasonAndTint(store, season);
         }
     }
 
@@ -193,65 +165,19 @@ public class SeasonDebugUI extends InteractiveCustomUIPage<SeasonDebugUI.DebugDa
         }
 
         try {
-            SeasonResource resource = store.getResource(SeasonResource.getResourceType());
-            if (resource == null) {
-                resource = new SeasonResource();
-            }
-
-            Season oldSeason = resource.getCurrentSeason();
-
-            long newTotalDays = resource.getTotalDaysPassed() + days;
-            resource.setTotalDaysPassed(newTotalDays);
-            int newDayOfYear = (int) (newTotalDays % 360);
-            Season newSeason = Season.getSeasonByDay(newDayOfYear);
-            int dayInSeason = newDayOfYear - newSeason.getStartDay();
-            resource.setCurrentSeason(newSeason);
-            resource.setDayOfSeason(dayInSeason);
-
-            store.replaceResource(SeasonResource.getResourceType(), resource);
-
-            if (!oldSeason.equals(newSeason)) {
-                System.out.println("[ARCANE SEASONS] ========================================");
-                System.out.println("[ARCANE SEASONS] SEASON CHANGED (Day Advance)");
-                System.out.println("[ARCANE SEASONS] " + oldSeason.getDisplayName() + " -> " + newSeason.getDisplayName());
-                System.out.println("[ARCANE SEASONS] ========================================");
-
-                GrassBlockTintingSystem tintingSystem = SeasonsModule.getTintingSystemForWorld(world.getName());
-                if (tintingSystem != null) {
-                    int tintColor = newSeason.getGrassTintColor();
-                    world.execute(() -> {
-                        try {
-                            tintingSystem.onSeasonChange(tintColor);
-                        } catch (Exception e) {
-                            System.err.println("[ARCANE SEASONS] Error during tinting: " + e.getMessage());
-                        }
-                    });
-                }
-            }
+            // repeated clicks get merged by the transition service into a single tint pass
+            SeasonTransitionService.getInstance().advanceDays(world, store, days, "Day Advance");
         } catch (Exception e) {
             System.err.println("[SeasonDebug] Error advancing days: " + e.getMessage());
         }
     }
 
     private void advanceToNextSeason(Store<EntityStore> store) {
-        Season currentSeason = getCurrentSeason(store);
-        Season[] seasons = Season.values();
-        int currentIndex = -1;
-        for (int i = 0; i < seasons.length; i++) {
-            if (seasons[i] == currentSeason) {
-                currentIndex = i;
-                break;
-            }
-        }
-        if (currentIndex >= 0) {
-            Season nextSeason = seasons[(currentIndex + 1) % seasons.length];
-            setSeasonAndTint(store, currentSeason, nextSeason);
-        }
+        setSeasonAndTint(store, getCurrentSeason(store).getNext());
     }
 
     private void resetSeason(Store<EntityStore> store) {
-        Season currentSeason = getCurrentSeason(store);
-        setSeasonAndTint(store, currentSeason, Season.SPRING);
+        setSeasonAndTint(store, Season.SPRING);
     }
 
     private void teleportToEcho(Ref<EntityStore> ref, Store<EntityStore> store, String echoId) {
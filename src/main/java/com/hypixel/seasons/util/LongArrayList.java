@@ -0,0 +1,66 @@
+package com.hypixel.seasons.util;
+
+import java.util.Arrays;
+
+// growable long[] without boxing, clear() keeps the backing array for reuse
+public class LongArrayList {
+
+    private long[] items;
+    private int size;
+
+    public LongArrayList() {
+        this(16);
+    }
+
+    public LongArrayList(int initialCapacity) {
+        this.items = new long[Math.max(initialCapacity, 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " size " + size);
+        }
+        return items[index];
+    }
+
+    public void add(long value) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length << 1);
+        }
+        items[size++] = value;
+    }
+
+    public void addAll(LongArrayList other) {
+        int needed = size + other.size;
+        if (needed > items.length) {
+            items = Arrays.copyOf(items, Math.max(needed, items.length << 1));
+        }
+        System.arraycopy(other.items, 0, items, size, other.size);
+        size = needed;
+    }
+
+    // drops the first count entries, used when this list is consumed like a queue
+    public void removeHead(int count) {
+        if (count <= 0) {
+            return;
+        }
+        if (count >= size) {
+            size = 0;
+            return;
+        }
+        System.arraycopy(items, count, items, 0, size - count);
+        size -= count;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
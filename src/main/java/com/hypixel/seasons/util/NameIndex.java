@@ -0,0 +1,83 @@
+package com.hypixel.seasons.util;
+
+// small open addressing map keyed by name, case insensitive
+// lookups hash and compare the chars in place so they never allocate (no toLowerCase copies)
+// meant for fixed sets of names built once and read a lot, not thread safe while being filled
+public class NameIndex<T> {
+
+    private String[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    public NameIndex(int expectedSize) {
+        allocate(LongIntHashMap.tableSizeFor(expectedSize * 2));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void put(String name, T value) {
+        if (name == null) {
+            return;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            rehash(keys.length << 1);
+        }
+
+        int slot = hash(name) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equalsIgnoreCase(name)) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = name;
+        values[slot] = value;
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(String name) {
+        if (name == null) {
+            return null;
+        }
+        int slot = hash(name) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equalsIgnoreCase(name)) {
+                return (T) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    private static int hash(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + Character.toLowerCase(name.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash(int capacity) {
+        String[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                put(oldKeys[i], (T) oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+}
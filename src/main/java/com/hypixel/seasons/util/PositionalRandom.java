@@ -0,0 +1,80 @@
+package com.hypixel.seasons.util;
+
+import java.util.Random;
+
+// stateless hashing for anything that has to come out the same no matter which thread asks or in what order
+// every value is a pure function of (seed, salt, x, z) run through the splitmix64 finalizer, so
+// neighbouring coordinates dont collide the way seed * 31 + x * 31 + z did
+// HashRandom is the same thing behind a java.util.Random face for apis that insist on one (prefab paste),
+// reseed it instead of making a new one per call
+public final class PositionalRandom {
+
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final long PRIME_X = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME_Z = 0x165667B19E3779F9L;
+
+    private PositionalRandom() {
+    }
+
+    // splitmix64 finalizer
+    public static long mix(long h) {
+        h ^= h >>> 30;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 27;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 31;
+        return h;
+    }
+
+    // seed for one thing (a structure id, a feature) inside one world
+    public static long salt(long worldSeed, String name) {
+        long h = mix(worldSeed * GOLDEN);
+        if (name != null) {
+            for (int i = 0; i < name.length(); i++) {
+                h = mix(h ^ name.charAt(i));
+            }
+        }
+        return h;
+    }
+
+    public static long hash(long salt, int x, int z) {
+        return mix(salt ^ (x * PRIME_X) ^ (z * PRIME_Z));
+    }
+
+    // uniform in [0, bound), bound must be positive
+    public static int nextInt(long hash, int bound) {
+        return (int) (((hash >>> 32) * bound) >>> 32);
+    }
+
+    // reseedable Random, seed it with hash(...) and it hands out a splitmix64 sequence from there
+    // not thread safe, like Random in practice - keep one per thread
+    public static final class HashRandom extends Random {
+        private long state;
+
+        public HashRandom() {
+            super(0);
+        }
+
+        public HashRandom reseed(long seed) {
+            state = seed;
+            return this;
+        }
+
+        @Override
+        public void setSeed(long seed) {
+            // Random's constructor calls this before our fields exist, thats fine for a plain long
+            state = seed;
+        }
+
+        @Override
+        protected int next(int bits) {
+            return (int) (nextLong() >>> (64 - bits));
+        }
+
+        @Override
+        public long nextLong() {
+            state += GOLDEN;
+            return mix(state);
+        }
+    }
+}